@@ -1,14 +1,22 @@
 package pokemon.runs.time.leaderboard.controller;
 
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import pokemon.runs.time.leaderboard.dto.integration.PokemonBatchRequestDTO;
+import pokemon.runs.time.leaderboard.dto.integration.PokemonBatchResponseDTO;
 import pokemon.runs.time.leaderboard.dto.integration.PokemonIntegrationResponseDTO;
 import pokemon.runs.time.leaderboard.service.PokemonIntegrationService;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/integrations")
 public class IntegrationController {
@@ -24,4 +32,14 @@ public class IntegrationController {
 
         return ResponseEntity.ok(pokemonIntegrationService.getPokemonSummary(pokemon));
     }
+
+    @GetMapping("/pokemon")
+    public ResponseEntity<PokemonBatchResponseDTO> getPokemonSummaries(@RequestParam List<String> names) {
+        return ResponseEntity.ok(pokemonIntegrationService.getPokemonSummaries(names));
+    }
+
+    @PostMapping("/pokemon")
+    public ResponseEntity<PokemonBatchResponseDTO> getPokemonSummaries(@RequestBody @Valid PokemonBatchRequestDTO request) {
+        return ResponseEntity.ok(pokemonIntegrationService.getPokemonSummaries(request.names()));
+    }
 }
@@ -8,21 +8,31 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 import pokemon.runs.time.leaderboard.domain.run.Run;
 import pokemon.runs.time.leaderboard.domain.user.User;
+import pokemon.runs.time.leaderboard.dto.runs.CreateRunBatchDTO;
 import pokemon.runs.time.leaderboard.dto.runs.CreateRunDTO;
+import pokemon.runs.time.leaderboard.dto.runs.CursorPageDTO;
 import pokemon.runs.time.leaderboard.dto.runs.DetailsRunDTO;
 import pokemon.runs.time.leaderboard.dto.runs.PatchRunDTO;
+import pokemon.runs.time.leaderboard.dto.runs.RunRankDTO;
+import pokemon.runs.time.leaderboard.dto.runs.RunTimePercentilesByGameDTO;
 import pokemon.runs.time.leaderboard.dto.runs.TopPokemonDTO;
+import pokemon.runs.time.leaderboard.dto.runs.UserStatsDTO;
 import pokemon.runs.time.leaderboard.dto.runs.RunsCountByGameDTO;
 import pokemon.runs.time.leaderboard.dto.runs.AvgRunTimeByGameDTO;
 import pokemon.runs.time.leaderboard.infra.errors.UnauthorizedException;
+import pokemon.runs.time.leaderboard.service.RunRanking;
+import pokemon.runs.time.leaderboard.service.UserGameStatsUpdater;
 import pokemon.runs.time.leaderboard.service.RunService;
+import pokemon.runs.time.leaderboard.utils.RunCursor;
 
 import java.util.List;
 
@@ -30,9 +40,18 @@ import java.util.List;
 @RequestMapping("/runs")
 public class RunController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_RANK_AROUND = 50;
+
     @Autowired
     private RunService runService;
 
+    @Autowired
+    private RunRanking runRanking;
+
+    @Autowired
+    private UserGameStatsUpdater userGameStatsUpdater;
+
     @PostMapping()
     @Transactional
     public ResponseEntity<DetailsRunDTO> createRun(@RequestBody @Valid CreateRunDTO data,
@@ -46,16 +65,47 @@ public class RunController {
         return ResponseEntity.created(uri).body(new DetailsRunDTO(run));
     }
 
+    @PostMapping("/batch")
+    @Transactional
+    public ResponseEntity<List<DetailsRunDTO>> createRuns(@RequestBody @Valid CreateRunBatchDTO data,
+                                                          @AuthenticationPrincipal User user) {
+        if (user == null) {
+            throw new UnauthorizedException("Usuário não autenticado");
+        }
+        var runs = runService.createRuns(data.runs(), user);
+        return ResponseEntity.status(HttpStatus.CREATED).body(runs.stream().map(DetailsRunDTO::new).toList());
+    }
+
     @GetMapping
     public ResponseEntity<Page<DetailsRunDTO>> getAllRuns(@PageableDefault(size = 10) Pageable pageable) {
         return ResponseEntity.ok(runService.getAllRunsCached(pageable));
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDTO<DetailsRunDTO>> getAllRunsAfter(@RequestParam String after,
+                                                                        @RequestParam(defaultValue = "10") int size) {
+        validateCursorPageSize(size);
+        return ResponseEntity.ok(runService.findAllRunsAfter(after, size));
+    }
+
     @GetMapping("/me")
     public ResponseEntity<Page<DetailsRunDTO>> getAllMyRuns(@AuthenticationPrincipal User user,
                                                    @PageableDefault(size = 10) Pageable pageable) {
         var runs = runService.getAllMyRuns(user, pageable);
-        return ResponseEntity.ok(runs.map(DetailsRunDTO::new));
+        return ResponseEntity.ok(runs);
+    }
+
+    @GetMapping("/me/stats")
+    public ResponseEntity<UserStatsDTO> getMyStats(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(runService.getMyStats(user));
+    }
+
+    @GetMapping("/me/rank")
+    public ResponseEntity<RunRankDTO> getMyRunRank(@AuthenticationPrincipal User user,
+                                                   @RequestParam String game,
+                                                   @RequestParam(defaultValue = "5") int around) {
+        validateRankAround(around);
+        return ResponseEntity.ok(runService.getMyRunRank(user, game, around));
     }
 
     @PatchMapping("/{id}")
@@ -71,9 +121,42 @@ public class RunController {
     public ResponseEntity<Page<DetailsRunDTO>> getRunsByGame(
             @PathVariable String game,
             @PageableDefault(size = 10) Pageable pageable) {
+        if (runRanking.isReady() && runRanking.supports(pageable.getSort())) {
+            return ResponseEntity.ok(runRanking.findPage(game, pageable));
+        }
         return ResponseEntity.ok(runService.findByGameCached(game, pageable));
     }
 
+    @GetMapping(value = "/game/{game}", params = "after")
+    public ResponseEntity<CursorPageDTO<DetailsRunDTO>> getRunsByGameAfter(
+            @PathVariable String game,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size) {
+        validateCursorPageSize(size);
+        var cursor = RunCursor.decodeOrStart(after, RunCursor.RUN_TIME_START);
+        if (!runRanking.isReady()) {
+            return ResponseEntity.ok(runService.findByGameAfter(game, cursor, size));
+        }
+        return ResponseEntity.ok(runRanking.findAfter(game, cursor, size));
+    }
+
+    @GetMapping("/top")
+    public ResponseEntity<List<DetailsRunDTO>> getTopRuns(@RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + MAX_CURSOR_PAGE_SIZE);
+        }
+        if (!runRanking.isReady()) {
+            return ResponseEntity.ok(runService.findTopRuns(limit));
+        }
+        return ResponseEntity.ok(runRanking.findTop(limit));
+    }
+
+    @PostMapping("/ranking/rebuild")
+    public ResponseEntity<Void> rebuildRanking() {
+        runRanking.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}")
     @Transactional
     public ResponseEntity<Void> deleteRun(@PathVariable Long id,
@@ -84,32 +167,52 @@ public class RunController {
 
     @GetMapping("/{id}")
     public ResponseEntity<DetailsRunDTO> getRunById(@PathVariable Long id) {
-        var run = runService.findById(id);
-        return ResponseEntity.ok(new DetailsRunDTO(run));
+        return ResponseEntity.ok(runService.getRunDetails(id));
+    }
+
+    @GetMapping("/{id}/rank")
+    public ResponseEntity<RunRankDTO> getRunRank(@PathVariable Long id,
+                                                 @RequestParam(defaultValue = "5") int around) {
+        validateRankAround(around);
+        return ResponseEntity.ok(runService.getRunRank(id, around));
     }
 
     @GetMapping("/fastest")
     public ResponseEntity<Page<DetailsRunDTO>> getFastestRuns(
             @RequestParam String maxTime,
             @PageableDefault(size = 10, sort = "runTime") Pageable pageable) {
-        // Validar formato de tempo
-        if (maxTime == null || !maxTime.matches("\\d{1,2}:[0-5]\\d")) {
-            throw new IllegalArgumentException("Formato de tempo inválido. Use hh:mm");
-        }
+        validateMaxTime(maxTime);
         var runs = runService.findFastestRuns(maxTime, pageable);
-        return ResponseEntity.ok(runs.map(DetailsRunDTO::new));
+        return ResponseEntity.ok(runs);
+    }
+
+    @GetMapping(value = "/fastest", params = "after")
+    public ResponseEntity<CursorPageDTO<DetailsRunDTO>> getFastestRunsAfter(
+            @RequestParam String maxTime,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size) {
+        validateMaxTime(maxTime);
+        validateCursorPageSize(size);
+        return ResponseEntity.ok(runService.findFastestRunsAfter(maxTime, after, size));
     }
 
     @GetMapping("/pokedex")
     public ResponseEntity<Page<DetailsRunDTO>> getByPokedexStatus(
             @RequestParam int minStatus,
             @PageableDefault(size = 10, sort = "pokedexStatus", direction = Sort.Direction.DESC) Pageable pageable) {
-        // Validar minStatus
-        if (minStatus < 1) {
-            throw new IllegalArgumentException("Pokedex status deve ser no mínimo 1");
-        }
+        validateMinStatus(minStatus);
         var runs = runService.findByMinPokedexStatus(minStatus, pageable);
-        return ResponseEntity.ok(runs.map(DetailsRunDTO::new));
+        return ResponseEntity.ok(runs);
+    }
+
+    @GetMapping(value = "/pokedex", params = "after")
+    public ResponseEntity<CursorPageDTO<DetailsRunDTO>> getByPokedexStatusAfter(
+            @RequestParam int minStatus,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size) {
+        validateMinStatus(minStatus);
+        validateCursorPageSize(size);
+        return ResponseEntity.ok(runService.findByMinPokedexStatusAfter(minStatus, after, size));
     }
 
     @GetMapping("/team")
@@ -121,7 +224,13 @@ public class RunController {
             throw new IllegalArgumentException("Nome do pokemon não pode estar vazio");
         }
         var runs = runService.findByPokemonInTeam(pokemon, pageable);
-        return ResponseEntity.ok(runs.map(DetailsRunDTO::new));
+        return ResponseEntity.ok(runs);
+    }
+
+    @PostMapping("/stats/users/rebuild")
+    public ResponseEntity<Void> rebuildUserStats() {
+        userGameStatsUpdater.rebuild();
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/stats/count-by-game")
@@ -134,14 +243,19 @@ public class RunController {
         return ResponseEntity.ok(runService.getAvgRunTimeByGameCached());
     }
 
+    @GetMapping("/stats/percentiles-by-game")
+    public ResponseEntity<List<RunTimePercentilesByGameDTO>> getRunTimePercentilesByGame() {
+        return ResponseEntity.ok(runService.getRunTimePercentilesByGameCached());
+    }
+
     @GetMapping("/stats/top-pokemons")
     public ResponseEntity<List<TopPokemonDTO>> getTopPokemonsUsed() {
         return ResponseEntity.ok(runService.getTopPokemonsUsedCached());
     }
 
     @GetMapping("/export/csv")
-    public ResponseEntity<String> exportRunsToCsv() {
-        String csv = runService.exportRunsToCsv();
+    public ResponseEntity<StreamingResponseBody> exportRunsToCsv() {
+        StreamingResponseBody csv = runService::exportRunsToCsv;
         HttpHeaders headers = new HttpHeaders();
         headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=runs.csv");
         headers.setContentType(MediaType.TEXT_PLAIN);
@@ -149,11 +263,35 @@ public class RunController {
     }
 
     @GetMapping("/export/excel")
-    public ResponseEntity<byte[]> exportRunsToExcel() {
-        byte[] excel = runService.exportRunsToExcel();
+    public ResponseEntity<StreamingResponseBody> exportRunsToExcel() {
+        StreamingResponseBody excel = runService::exportRunsToExcel;
         HttpHeaders headers = new HttpHeaders();
         headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=leaderboard.xlsx");
         headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
         return ResponseEntity.ok().headers(headers).body(excel);
     }
+
+    private void validateMaxTime(String maxTime) {
+        if (maxTime == null || !maxTime.matches("\\d{1,2}:[0-5]\\d")) {
+            throw new IllegalArgumentException("Formato de tempo inválido. Use hh:mm");
+        }
+    }
+
+    private void validateMinStatus(int minStatus) {
+        if (minStatus < 1) {
+            throw new IllegalArgumentException("Pokedex status deve ser no mínimo 1");
+        }
+    }
+
+    private void validateRankAround(int around) {
+        if (around < 0 || around > MAX_RANK_AROUND) {
+            throw new IllegalArgumentException("Quantidade de vizinhos deve estar entre 0 e " + MAX_RANK_AROUND);
+        }
+    }
+
+    private void validateCursorPageSize(int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e " + MAX_CURSOR_PAGE_SIZE);
+        }
+    }
 }
@@ -0,0 +1,29 @@
+package pokemon.runs.time.leaderboard.domain.run;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Um balde do histograma de tempos de um jogo (ver {@code RunTimeHistogram}), mantido junto
+ * com as escritas de runs. {@code bucketStart} em minutos, como runs.run_time.
+ */
+@Entity
+@Table(name = "game_run_time_buckets")
+@IdClass(GameRunTimeBucketId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = {"game", "bucketStart"})
+public class GameRunTimeBucket {
+
+    @Id
+    @Column(length = 100)
+    private String game;
+
+    @Id
+    private long bucketStart;
+
+    @Column(nullable = false)
+    private long runCount;
+}
@@ -0,0 +1,17 @@
+package pokemon.runs.time.leaderboard.domain.run;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class GameRunTimeBucketId implements Serializable {
+
+    private String game;
+
+    private long bucketStart;
+}
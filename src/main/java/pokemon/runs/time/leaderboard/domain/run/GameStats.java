@@ -0,0 +1,33 @@
+package pokemon.runs.time.leaderboard.domain.run;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Agregado por jogo mantido junto com as escritas de runs. Tempos em minutos, como runs.run_time.
+ */
+@Entity
+@Table(name = "game_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "game")
+public class GameStats {
+
+    @Id
+    @Column(length = 100)
+    private String game;
+
+    @Column(nullable = false)
+    private long runCount;
+
+    @Column(nullable = false)
+    private long totalRunTime;
+
+    @Column(nullable = false)
+    private long minRunTime;
+
+    @Column(nullable = false)
+    private long maxRunTime;
+}
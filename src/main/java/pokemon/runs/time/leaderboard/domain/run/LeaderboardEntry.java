@@ -0,0 +1,100 @@
+package pokemon.runs.time.leaderboard.domain.run;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+import pokemon.runs.time.leaderboard.utils.RunTimeParser;
+import pokemon.runs.time.leaderboard.utils.StringListConverter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Modelo de leitura do ranking: uma linha por run com dono, tempo formatado e time ja resolvidos,
+ * mantida pelo {@code LeaderboardEntryUpdater} na mesma transacao das escritas. As listagens leem
+ * so esta tabela, pelos indices abaixo, sem join com users.
+ */
+@Entity
+@Table(name = "leaderboard_entries", indexes = {
+        @Index(name = "idx_leaderboard_entries_game_time", columnList = "game_key, run_time, run_id"),
+        @Index(name = "idx_leaderboard_entries_run_time", columnList = "run_time, run_id"),
+        @Index(name = "idx_leaderboard_entries_pokedex", columnList = "pokedex_status, run_id"),
+        @Index(name = "idx_leaderboard_entries_user", columnList = "user_id, run_id")
+})
+@Getter
+@NoArgsConstructor
+public class LeaderboardEntry implements Persistable<Long> {
+
+    @Id
+    @Column(name = "run_id")
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String game;
+
+    @Column(nullable = false, length = 100)
+    private String gameKey;
+
+    // Minutos, como runs.run_time, para filtrar e ordenar; o texto HH:MM vai pronto na resposta
+    @Column(nullable = false)
+    private long runTime;
+
+    @Column(nullable = false, length = 6)
+    private String formattedRunTime;
+
+    @Column(nullable = false)
+    private int pokedexStatus;
+
+    @Convert(converter = StringListConverter.class)
+    private List<String> pokemonTeam;
+
+    @Column(length = 100)
+    private String observation;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 50)
+    private String username;
+
+    private LocalDateTime createdAt;
+
+    // Id vem da run, entao o save precisa saber que a linha e nova para nao fazer SELECT antes do INSERT
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean persisted;
+
+    public static LeaderboardEntry of(RunSnapshot run) {
+        LeaderboardEntry entry = new LeaderboardEntry();
+        entry.id = run.id();
+        entry.apply(run);
+        return entry;
+    }
+
+    public void apply(RunSnapshot run) {
+        this.game = run.game();
+        this.gameKey = run.game().toLowerCase(Locale.ROOT);
+        this.runTime = run.runTimeMinutes();
+        this.formattedRunTime = RunTimeParser.format(run.runTime());
+        this.pokedexStatus = run.pokedexStatus();
+        this.pokemonTeam = run.pokemonTeam();
+        this.observation = run.observation();
+        this.userId = run.userId();
+        this.username = run.user().username();
+        this.createdAt = run.createdAt();
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
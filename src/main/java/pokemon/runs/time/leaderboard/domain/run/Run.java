@@ -1,6 +1,7 @@
 package pokemon.runs.time.leaderboard.domain.run;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -11,6 +12,7 @@ import pokemon.runs.time.leaderboard.utils.StringListConverter;
 
 import java.time.LocalDateTime;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 @Table(name="runs")
@@ -19,8 +21,10 @@ import java.util.List;
 @Entity(name="runs")
 @NoArgsConstructor
 public class Run {
+    // Sequence com otimizador pooled: IDENTITY desligaria o batch de INSERTs do Hibernate
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "runs_seq")
+    @SequenceGenerator(name = "runs_seq", sequenceName = "runs_seq", allocationSize = 50)
     private Long id;
     private String game;
     @Convert(converter = DurationConverter.class)
@@ -30,6 +34,13 @@ public class Run {
     private List<String> pokemonTeam;
     private String observation;
 
+    // Copia normalizada do time em tabela propria para a busca por pokemon usar indice.
+    @ElementCollection
+    @CollectionTable(name = "run_team_members", joinColumns = @JoinColumn(name = "run_id"))
+    @OrderColumn(name = "slot")
+    @Setter(AccessLevel.NONE)
+    private List<RunTeamMember> teamMembers = new ArrayList<>();
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -38,4 +49,17 @@ public class Run {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    public void setPokemonTeam(List<String> pokemonTeam) {
+        this.pokemonTeam = pokemonTeam;
+        this.teamMembers.clear();
+        if (pokemonTeam == null) {
+            return;
+        }
+
+        for (String pokemon : pokemonTeam) {
+            if (pokemon != null && !pokemon.isBlank()) {
+                this.teamMembers.add(RunTeamMember.of(pokemon));
+            }
+        }
+    }
 }
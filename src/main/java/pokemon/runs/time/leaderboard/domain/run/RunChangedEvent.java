@@ -0,0 +1,20 @@
+package pokemon.runs.time.leaderboard.domain.run;
+
+/**
+ * Publicado pelo {@code RunService} a cada escrita de run. {@code previous} e nulo na
+ * criacao e {@code current} e nulo na remocao.
+ */
+public record RunChangedEvent(RunSnapshot previous, RunSnapshot current) {
+
+    public static RunChangedEvent created(RunSnapshot current) {
+        return new RunChangedEvent(null, current);
+    }
+
+    public static RunChangedEvent updated(RunSnapshot previous, RunSnapshot current) {
+        return new RunChangedEvent(previous, current);
+    }
+
+    public static RunChangedEvent deleted(RunSnapshot previous) {
+        return new RunChangedEvent(previous, null);
+    }
+}
@@ -0,0 +1,64 @@
+package pokemon.runs.time.leaderboard.domain.run;
+
+import pokemon.runs.time.leaderboard.dto.runs.DetailsRunDTO;
+import pokemon.runs.time.leaderboard.dto.users.UserSummaryDTO;
+import pokemon.runs.time.leaderboard.utils.RunTimeParser;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Copia imutavel do estado de uma {@link Run} em um instante, usada para propagar
+ * mudancas para as estruturas de leitura sem compartilhar a entidade gerenciada.
+ */
+public record RunSnapshot(
+        Long id,
+        String game,
+        Duration runTime,
+        int pokedexStatus,
+        List<String> pokemonTeam,
+        String observation,
+        LocalDateTime createdAt,
+        UserSummaryDTO user
+) {
+
+    public static RunSnapshot of(Run run) {
+        List<String> team = run.getPokemonTeam() == null
+                ? List.of()
+                : Collections.unmodifiableList(new ArrayList<>(run.getPokemonTeam()));
+
+        return new RunSnapshot(
+                run.getId(),
+                run.getGame(),
+                run.getRunTime(),
+                run.getPokedexStatus(),
+                team,
+                run.getObservation(),
+                run.getCreatedAt(),
+                new UserSummaryDTO(run.getUser())
+        );
+    }
+
+    public long runTimeMinutes() {
+        return runTime == null ? 0L : runTime.toMinutes();
+    }
+
+    public Long userId() {
+        return user.id();
+    }
+
+    public DetailsRunDTO toDetails() {
+        return new DetailsRunDTO(
+                id,
+                game,
+                RunTimeParser.format(runTime),
+                pokedexStatus,
+                pokemonTeam,
+                observation,
+                user
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package pokemon.runs.time.leaderboard.domain.run;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Locale;
+
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RunTeamMember {
+
+    @Column(nullable = false)
+    private String pokemon;
+
+    @Column(name = "pokemon_key", nullable = false)
+    private String pokemonKey;
+
+    public static RunTeamMember of(String pokemon) {
+        String normalized = pokemon.trim();
+        return new RunTeamMember(normalized, normalized.toLowerCase(Locale.ROOT));
+    }
+}
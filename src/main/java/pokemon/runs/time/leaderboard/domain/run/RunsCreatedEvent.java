@@ -0,0 +1,10 @@
+package pokemon.runs.time.leaderboard.domain.run;
+
+import java.util.List;
+
+/**
+ * Publicado uma unica vez por {@code POST /runs/batch}, para que estatisticas, ranking e caches
+ * sejam atualizados por lote e nao run a run.
+ */
+public record RunsCreatedEvent(List<RunSnapshot> runs) {
+}
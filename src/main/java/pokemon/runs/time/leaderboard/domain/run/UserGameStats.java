@@ -0,0 +1,39 @@
+package pokemon.runs.time.leaderboard.domain.run;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Agregado por usuario e jogo mantido junto com as escritas de runs: contagem, soma e melhor
+ * tempo (com a run que o fez). Tempos em minutos, como runs.run_time.
+ */
+@Entity
+@Table(name = "user_game_stats")
+@IdClass(UserGameStatsId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = {"userId", "game"})
+public class UserGameStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(length = 100)
+    private String game;
+
+    @Column(nullable = false)
+    private long runCount;
+
+    @Column(nullable = false)
+    private long totalRunTime;
+
+    @Column(nullable = false)
+    private long bestRunTime;
+
+    @Column(nullable = false)
+    private Long bestRunId;
+}
@@ -0,0 +1,17 @@
+package pokemon.runs.time.leaderboard.domain.run;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserGameStatsId implements Serializable {
+
+    private Long userId;
+
+    private String game;
+}
@@ -0,0 +1,20 @@
+package pokemon.runs.time.leaderboard.dto.integration;
+
+/**
+ * Resultado de um nome do lote: {@code summary} quando deu certo, {@code status} e {@code error} quando falhou.
+ */
+public record PokemonBatchItemDTO(
+        String pokemon,
+        PokemonIntegrationResponseDTO summary,
+        Integer status,
+        String error
+) {
+
+    public static PokemonBatchItemDTO success(String pokemon, PokemonIntegrationResponseDTO summary) {
+        return new PokemonBatchItemDTO(pokemon, summary, null, null);
+    }
+
+    public static PokemonBatchItemDTO failure(String pokemon, int status, String error) {
+        return new PokemonBatchItemDTO(pokemon, null, status, error);
+    }
+}
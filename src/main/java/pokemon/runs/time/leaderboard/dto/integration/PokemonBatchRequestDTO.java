@@ -0,0 +1,11 @@
+package pokemon.runs.time.leaderboard.dto.integration;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record PokemonBatchRequestDTO(
+        @NotEmpty(message = "Informe ao menos um pokemon")
+        List<String> names
+) {
+}
@@ -0,0 +1,9 @@
+package pokemon.runs.time.leaderboard.dto.integration;
+
+import java.util.List;
+
+public record PokemonBatchResponseDTO(
+        List<PokemonBatchItemDTO> results,
+        boolean complete
+) {
+}
@@ -0,0 +1,14 @@
+package pokemon.runs.time.leaderboard.dto.runs;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record CreateRunBatchDTO(
+        @NotEmpty(message = "Informe ao menos uma run")
+        @Size(max = 500, message = "Lote deve ter no máximo 500 runs")
+        List<@Valid CreateRunDTO> runs
+) {
+}
@@ -0,0 +1,12 @@
+package pokemon.runs.time.leaderboard.dto.runs;
+
+import java.io.Serializable;
+import java.util.List;
+
+public record CursorPageDTO<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean hasNext
+) implements Serializable {
+}
@@ -28,4 +28,12 @@ public record DetailsRunDTO(
                 new UserSummaryDTO(run.getUser())
         );
     }
+
+    /**
+     * Usado pelas projecoes JPQL do {@code LeaderboardEntryRepository}, com o dono ja na mesma linha.
+     */
+    public DetailsRunDTO(Long id, String game, String runTime, int pokedexStatus, List<String> pokemonTeam,
+                         String observation, Long userId, String username) {
+        this(id, game, runTime, pokedexStatus, pokemonTeam, observation, new UserSummaryDTO(userId, username));
+    }
 }
@@ -0,0 +1,20 @@
+package pokemon.runs.time.leaderboard.dto.runs;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Projecao usada pelas exportacoes: nao fica no contexto de persistencia, entao o stream
+ * nao acumula entidades enquanto percorre a tabela.
+ */
+public record RunExportRow(
+        Long id,
+        String game,
+        Duration runTime,
+        int pokedexStatus,
+        List<String> pokemonTeam,
+        String observation,
+        String username,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,16 @@
+package pokemon.runs.time.leaderboard.dto.runs;
+
+import java.util.List;
+
+/**
+ * Posicao (base 1) de uma run no ranking do jogo, com os vizinhos imediatamente acima
+ * (mais rapidos) e abaixo, ambos na ordem do ranking.
+ */
+public record RunRankDTO(
+        long rank,
+        long total,
+        DetailsRunDTO run,
+        List<DetailsRunDTO> above,
+        List<DetailsRunDTO> below
+) {
+}
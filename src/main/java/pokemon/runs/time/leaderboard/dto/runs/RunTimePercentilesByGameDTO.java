@@ -0,0 +1,10 @@
+package pokemon.runs.time.leaderboard.dto.runs;
+
+import java.io.Serializable;
+
+/**
+ * Percentis de tempo por jogo em minutos, aproximados pelo histograma com erro relativo de no maximo 1/64.
+ */
+public record RunTimePercentilesByGameDTO(String game, long runCount, long p50, long p90, long p99)
+        implements Serializable {
+}
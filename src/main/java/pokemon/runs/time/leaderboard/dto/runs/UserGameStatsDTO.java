@@ -0,0 +1,21 @@
+package pokemon.runs.time.leaderboard.dto.runs;
+
+import pokemon.runs.time.leaderboard.utils.RunTimeParser;
+
+import java.io.Serializable;
+
+/**
+ * Recorde pessoal e totais de um usuario em um jogo; {@code avgRunTime} em minutos, como em
+ * {@link AvgRunTimeByGameDTO}.
+ */
+public record UserGameStatsDTO(String game, long runCount, String bestRunTime, Long bestRunId, Double avgRunTime)
+        implements Serializable {
+
+    /**
+     * Usado pela projecao JPQL do {@code UserGameStatsRepository}.
+     */
+    public UserGameStatsDTO(String game, long runCount, long totalRunTime, long bestRunTime, Long bestRunId) {
+        this(game, runCount, RunTimeParser.format(RunTimeParser.ofMinutes(bestRunTime)), bestRunId,
+                (double) totalRunTime / runCount);
+    }
+}
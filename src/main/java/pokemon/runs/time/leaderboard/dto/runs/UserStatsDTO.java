@@ -0,0 +1,7 @@
+package pokemon.runs.time.leaderboard.dto.runs;
+
+import java.io.Serializable;
+import java.util.List;
+
+public record UserStatsDTO(long runCount, List<UserGameStatsDTO> games) implements Serializable {
+}
@@ -4,12 +4,15 @@ import pokemon.runs.time.leaderboard.domain.user.User;
 
 import java.io.Serializable;
 
+/**
+ * Dono de uma run nas respostas de runs. Sem email: as listagens sao publicas e saem de
+ * {@code leaderboard_entries}, que nao guarda o email.
+ */
 public record UserSummaryDTO(
         Long id,
-        String username,
-        String email
+        String username
 ) implements Serializable {
     public UserSummaryDTO(User user) {
-        this(user.getId(), user.getUsername(), user.getEmail());
+        this(user.getId(), user.getUsername());
     }
 }
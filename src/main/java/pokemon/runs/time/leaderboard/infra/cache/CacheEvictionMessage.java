@@ -0,0 +1,23 @@
+package pokemon.runs.time.leaderboard.infra.cache;
+
+/**
+ * Aviso de eviccao trocado entre instancias. {@code key} nulo significa limpar o cache inteiro.
+ */
+public record CacheEvictionMessage(String origin, String cacheName, String key) {
+
+    private static final String SEPARATOR = "\n";
+
+    public String encode() {
+        return key == null
+                ? origin + SEPARATOR + cacheName
+                : origin + SEPARATOR + cacheName + SEPARATOR + key;
+    }
+
+    public static CacheEvictionMessage decode(String payload) {
+        String[] parts = payload.split(SEPARATOR, 3);
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Mensagem de eviccao de cache invalida");
+        }
+        return new CacheEvictionMessage(parts[0], parts[1], parts.length == 3 ? parts[2] : null);
+    }
+}
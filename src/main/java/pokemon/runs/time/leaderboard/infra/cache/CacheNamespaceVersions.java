@@ -0,0 +1,14 @@
+package pokemon.runs.time.leaderboard.infra.cache;
+
+/**
+ * Versao por namespace de cache. A versao entra na chave das entradas, entao incrementar a versao
+ * invalida todas as entradas daquele namespace sem precisar listar chaves. No Redis as antigas expiram
+ * pelo TTL, por isso o cache compartilhado precisa de {@code spring.cache.redis.time-to-live}; nos caches
+ * locais, sem TTL, o incremento limpa o cache.
+ */
+public interface CacheNamespaceVersions {
+
+    long current(String namespace);
+
+    void bump(String namespace);
+}
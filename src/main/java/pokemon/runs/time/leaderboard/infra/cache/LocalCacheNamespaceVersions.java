@@ -0,0 +1,63 @@
+package pokemon.runs.time.leaderboard.infra.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versoes em memoria, para caches locais a instancia (simple/none). Esses caches nao tem TTL, entao
+ * as entradas de versoes anteriores nunca expirariam: cada incremento remove do cache do namespace
+ * (o nome antes do primeiro ':', como {@code runsByGame} em {@code runsByGame:pokemon red}) as chaves
+ * "versao:resto" do namespace com versao antiga, ou limpa o cache inteiro se ele nao for um mapa.
+ */
+@Component("cacheNamespaceVersions")
+@ConditionalOnExpression("'${spring.cache.type:none}' != 'redis'")
+public class LocalCacheNamespaceVersions implements CacheNamespaceVersions {
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Override
+    public long current(String namespace) {
+        AtomicLong version = versions.get(namespace);
+        return version == null ? 0 : version.get();
+    }
+
+    @Override
+    public void bump(String namespace) {
+        long version = versions.computeIfAbsent(namespace, key -> new AtomicLong()).incrementAndGet();
+        // Depois do incremento: o que uma leitura concorrente gravar com a versao antiga sai no proximo
+        int separator = namespace.indexOf(':');
+        Cache cache = cacheManager.getCache(separator < 0 ? namespace : namespace.substring(0, separator));
+        if (cache == null) {
+            return;
+        }
+        if (cache.getNativeCache() instanceof Map<?, ?> entries) {
+            String scope = separator < 0 ? "" : namespace.substring(separator + 1) + ":";
+            entries.keySet().removeIf(key -> isStale(key, scope, version));
+        } else {
+            cache.clear();
+        }
+    }
+
+    private static boolean isStale(Object key, String scope, long version) {
+        String value = String.valueOf(key);
+        int separator = value.indexOf(':');
+        if (separator < 0 || !value.startsWith(scope, separator + 1)) {
+            return false;
+        }
+        try {
+            return Long.parseLong(value.substring(0, separator)) < version;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+}
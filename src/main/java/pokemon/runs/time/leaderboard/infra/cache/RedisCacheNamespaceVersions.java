@@ -0,0 +1,111 @@
+package pokemon.runs.time.leaderboard.infra.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import pokemon.runs.time.leaderboard.infra.config.NearCacheProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versoes compartilhadas entre instancias: um contador por namespace no Redis (INCR na invalidacao,
+ * sem varrer chaves com KEYS/SCAN). Cada instancia guarda as versoes em memoria e as atualiza pelo
+ * mesmo canal pub/sub das evictions do L1, entao montar a chave de cache nao custa uma ida ao Redis;
+ * o GET so acontece quando a instancia ainda nao conhece o namespace ou quando a versao local passa
+ * do TTL do L1, que limita quanto tempo um aviso perdido deixa a versao atrasada.
+ */
+@Component("cacheNamespaceVersions")
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+public class RedisCacheNamespaceVersions implements CacheNamespaceVersions {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCacheNamespaceVersions.class);
+    private static final String KEY_PREFIX = "leaderboard:cache-version:";
+
+    /**
+     * Nome reservado nas mensagens do canal de evictions para anunciar uma nova versao; a chave leva "versao:namespace".
+     */
+    public static final String VERSION_MESSAGE = "#namespace-version";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private NearCacheProperties nearCacheProperties;
+
+    private final Map<String, LocalVersion> versions = new ConcurrentHashMap<>();
+
+    @Override
+    public long current(String namespace) {
+        LocalVersion local = versions.get(namespace);
+        if (local != null && System.nanoTime() - local.readAt < nearCacheProperties.getTimeToLive().toNanos()) {
+            return local.version.get();
+        }
+
+        String stored;
+        try {
+            stored = redisTemplate.opsForValue().get(KEY_PREFIX + namespace);
+        } catch (RuntimeException ex) {
+            // Sem Redis, segue com a ultima versao conhecida; o L1 continua servindo
+            log.warn("Falha ao ler a versao do namespace de cache {}", namespace, ex);
+            return local == null ? 0 : local.version.get();
+        }
+        return advance(namespace, stored == null ? 0 : Long.parseLong(stored));
+    }
+
+    @Override
+    public void bump(String namespace) {
+        Long version = redisTemplate.opsForValue().increment(KEY_PREFIX + namespace);
+        if (version == null) {
+            return;
+        }
+        advance(namespace, version);
+        try {
+            redisTemplate.convertAndSend(nearCacheProperties.getInvalidationChannel(),
+                    new CacheEvictionMessage("", VERSION_MESSAGE, version + ":" + namespace).encode());
+        } catch (RuntimeException ex) {
+            // As outras instancias releem a versao quando a local expirar
+            log.warn("Falha ao publicar a versao do namespace de cache {}", namespace, ex);
+        }
+    }
+
+    /**
+     * Aplica uma versao anunciada no canal (inclusive as desta instancia, que ja estao aplicadas).
+     */
+    public void onVersionMessage(CacheEvictionMessage message) {
+        String key = message.key();
+        int separator = key == null ? -1 : key.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Mensagem de versao de cache invalida");
+        }
+        advance(key.substring(separator + 1), Long.parseLong(key.substring(0, separator)));
+    }
+
+    /**
+     * Versoes so andam para frente, entao mensagens fora de ordem ou repetidas nao voltam uma versao.
+     */
+    private long advance(String namespace, long version) {
+        LocalVersion local = versions.compute(namespace, (key, existing) ->
+                existing == null ? new LocalVersion(version) : existing.refresh(version));
+        return local.version.get();
+    }
+
+    private static final class LocalVersion {
+        private final AtomicLong version;
+        private volatile long readAt = System.nanoTime();
+
+        private LocalVersion(long version) {
+            this.version = new AtomicLong(version);
+        }
+
+        private LocalVersion refresh(long seen) {
+            version.accumulateAndGet(seen, Math::max);
+            readAt = System.nanoTime();
+            return this;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package pokemon.runs.time.leaderboard.infra.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * Cache com L1 em memoria (Caffeine) na frente de um cache compartilhado (L2, Redis). Leituras
+ * tentam o L1 primeiro; evictions limpam os dois niveis e sao anunciadas para as outras instancias.
+ */
+public class TwoLevelCache implements org.springframework.cache.Cache {
+
+    private final String name;
+    private final Cache<Object, Object> local;
+    private final org.springframework.cache.Cache shared;
+    private final Consumer<CacheEvictionMessage> evictionPublisher;
+    private final String origin;
+
+    TwoLevelCache(String name, Cache<Object, Object> local, org.springframework.cache.Cache shared,
+                  Consumer<CacheEvictionMessage> evictionPublisher, String origin) {
+        this.name = name;
+        this.local = local;
+        this.shared = shared;
+        this.evictionPublisher = evictionPublisher;
+        this.origin = origin;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return shared.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = local.getIfPresent(key);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+
+        ValueWrapper wrapper = shared.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            local.put(key, wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Valor em cache nao e do tipo " + type.getName() + ": " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = local.getIfPresent(key);
+        if (value != null) {
+            return (T) value;
+        }
+
+        T loaded = shared.get(key, valueLoader);
+        if (loaded != null) {
+            local.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        shared.put(key, value);
+        if (value != null) {
+            local.put(key, value);
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        shared.evict(key);
+        local.invalidate(key);
+        evictionPublisher.accept(new CacheEvictionMessage(origin, name, key.toString()));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = shared.evictIfPresent(key);
+        local.invalidate(key);
+        evictionPublisher.accept(new CacheEvictionMessage(origin, name, key.toString()));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        shared.clear();
+        local.invalidateAll();
+        evictionPublisher.accept(new CacheEvictionMessage(origin, name, null));
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = shared.invalidate();
+        local.invalidateAll();
+        evictionPublisher.accept(new CacheEvictionMessage(origin, name, null));
+        return invalidated;
+    }
+
+    /**
+     * Eviction vinda de outra instancia: o L2 ja foi limpo por ela, so falta o L1 local.
+     */
+    void evictLocal(String key) {
+        if (key == null) {
+            local.invalidateAll();
+            return;
+        }
+        local.asMap().keySet().removeIf(localKey -> localKey.toString().equals(key));
+    }
+}
@@ -0,0 +1,70 @@
+package pokemon.runs.time.leaderboard.infra.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Combina um L1 Caffeine por instancia com o {@link CacheManager} compartilhado (Redis). O TTL curto
+ * do L1 limita quanto tempo um valor antigo sobrevive se um aviso de eviction se perder.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager sharedCacheManager;
+    private final long localMaxSize;
+    private final Duration localTimeToLive;
+    private final Consumer<CacheEvictionMessage> evictionPublisher;
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager sharedCacheManager, long localMaxSize, Duration localTimeToLive,
+                                Consumer<CacheEvictionMessage> evictionPublisher) {
+        this.sharedCacheManager = sharedCacheManager;
+        this.localMaxSize = localMaxSize;
+        this.localTimeToLive = localTimeToLive;
+        this.evictionPublisher = evictionPublisher;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        Cache shared = sharedCacheManager.getCache(name);
+        if (shared == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> new TwoLevelCache(key, Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTimeToLive)
+                .build(), shared, evictionPublisher, origin));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return sharedCacheManager.getCacheNames();
+    }
+
+    /**
+     * Aplica no L1 uma eviction anunciada por outra instancia; as mensagens desta instancia sao ignoradas.
+     */
+    public void onEvictionMessage(CacheEvictionMessage message) {
+        if (origin.equals(message.origin())) {
+            return;
+        }
+
+        TwoLevelCache cache = caches.get(message.cacheName());
+        if (cache != null) {
+            cache.evictLocal(message.key());
+        }
+    }
+}
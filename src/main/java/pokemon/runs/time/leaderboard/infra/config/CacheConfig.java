@@ -0,0 +1,101 @@
+package pokemon.runs.time.leaderboard.infra.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import pokemon.runs.time.leaderboard.infra.cache.CacheEvictionMessage;
+import pokemon.runs.time.leaderboard.infra.cache.RedisCacheNamespaceVersions;
+import pokemon.runs.time.leaderboard.infra.cache.TwoLevelCacheManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Com {@code spring.cache.type=redis}, os caches passam a ter um L1 local na frente do Redis e as
+ * evictions sao propagadas entre instancias via pub/sub, junto com as novas versoes de namespace.
+ * Exige {@code spring.cache.redis.time-to-live}: as entradas de versoes superadas so saem por expiracao.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+@EnableConfigurationProperties({CacheProperties.class, NearCacheProperties.class})
+public class CacheConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheConfig.class);
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             StringRedisTemplate redisTemplate,
+                                             CacheProperties cacheProperties,
+                                             NearCacheProperties nearCacheProperties) {
+        // Entradas de versoes antigas de um namespace nunca sao removidas, so expiram
+        Duration timeToLive = cacheProperties.getRedis().getTimeToLive();
+        if (timeToLive == null || timeToLive.isZero() || timeToLive.isNegative()) {
+            throw new IllegalStateException("spring.cache.redis.time-to-live deve ser definido com spring.cache.type=redis");
+        }
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(redisCacheConfiguration(cacheProperties.getRedis()))
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        String channel = nearCacheProperties.getInvalidationChannel();
+        return new TwoLevelCacheManager(
+                redisCacheManager,
+                nearCacheProperties.getMaxSize(),
+                nearCacheProperties.getTimeToLive(),
+                message -> publishEviction(redisTemplate, channel, message));
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheEvictionListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                        TwoLevelCacheManager cacheManager,
+                                                                        RedisCacheNamespaceVersions cacheNamespaceVersions,
+                                                                        NearCacheProperties nearCacheProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            CacheEvictionMessage eviction = CacheEvictionMessage.decode(new String(message.getBody(), StandardCharsets.UTF_8));
+            if (RedisCacheNamespaceVersions.VERSION_MESSAGE.equals(eviction.cacheName())) {
+                cacheNamespaceVersions.onVersionMessage(eviction);
+            } else {
+                cacheManager.onEvictionMessage(eviction);
+            }
+        }, new ChannelTopic(nearCacheProperties.getInvalidationChannel()));
+        return container;
+    }
+
+    private RedisCacheConfiguration redisCacheConfiguration(CacheProperties.Redis properties) {
+        RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig(getClass().getClassLoader());
+        if (properties.getTimeToLive() != null) {
+            configuration = configuration.entryTtl(properties.getTimeToLive());
+        }
+        if (properties.getKeyPrefix() != null) {
+            configuration = configuration.prefixCacheNameWith(properties.getKeyPrefix());
+        }
+        if (!properties.isCacheNullValues()) {
+            configuration = configuration.disableCachingNullValues();
+        }
+        if (!properties.isUseKeyPrefix()) {
+            configuration = configuration.disableKeyPrefix();
+        }
+        return configuration;
+    }
+
+    private static void publishEviction(StringRedisTemplate redisTemplate, String channel, CacheEvictionMessage message) {
+        try {
+            redisTemplate.convertAndSend(channel, message.encode());
+        } catch (RuntimeException ex) {
+            // O L2 ja foi limpo; as outras instancias convergem quando o TTL do L1 expirar
+            log.warn("Falha ao publicar eviction do cache {}", message.cacheName(), ex);
+        }
+    }
+}
@@ -1,27 +1,104 @@
 package pokemon.runs.time.leaderboard.infra.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
 import jakarta.xml.soap.MessageFactory;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.ChainElement;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 import org.springframework.ws.client.core.WebServiceTemplate;
-import org.springframework.ws.transport.http.HttpUrlConnectionMessageSender;
 import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
+import org.springframework.ws.transport.http.HttpComponents5ClientFactory;
+import org.springframework.ws.transport.http.SimpleHttpComponents5MessageSender;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clientes REST e SOAP sobre um unico HttpClient 5 com pool keep-alive, para reaproveitar conexoes
+ * (e handshakes TLS) entre requisicoes. O cliente classico fala HTTP/1.1; o pool e exposto no
+ * actuator como {@code httpcomponents.httpclient.pool.*} e a espera por conexao como
+ * {@code integration.http.connection.acquire}.
+ */
 @Configuration
 @EnableConfigurationProperties(IntegrationProperties.class)
 public class IntegrationClientConfig {
 
+    private static final String POOL_NAME = "integration";
+    private static final String ACQUIRE_STARTED_AT = IntegrationClientConfig.class.getName() + ".acquireStartedAt";
+
+    @Bean
+    public PoolingHttpClientConnectionManager integrationConnectionManager(IntegrationProperties properties) {
+        IntegrationProperties.Pool pool = properties.getPool();
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(pool.getMaxConnections())
+                .setMaxConnPerRoute(pool.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(timeout(properties.getConnectTimeout()))
+                        .setSocketTimeout(timeout(properties.getReadTimeout()))
+                        .setTimeToLive(timeValue(pool.getTimeToLive()))
+                        .setValidateAfterInactivity(timeValue(pool.getValidateAfterInactivity()))
+                        .build())
+                .build();
+    }
+
     @Bean
-    public ClientHttpRequestFactory integrationClientHttpRequestFactory(IntegrationProperties properties) {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout((int) properties.getConnectTimeout().toMillis());
-        factory.setReadTimeout((int) properties.getReadTimeout().toMillis());
-        return factory;
+    public MeterBinder integrationConnectionPoolMetrics(PoolingHttpClientConnectionManager integrationConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(integrationConnectionManager, POOL_NAME);
+    }
+
+    @Bean
+    public CloseableHttpClient integrationHttpClient(PoolingHttpClientConnectionManager integrationConnectionManager,
+                                                     IntegrationProperties properties,
+                                                     MeterRegistry meterRegistry) {
+        // Tempo entre entrar e sair da etapa CONNECT: espera no pool e, se nao houver conexao
+        // livre para reaproveitar, abertura de uma nova (TCP + TLS)
+        Timer acquireTimer = Timer.builder("integration.http.connection.acquire")
+                .description("Tempo para obter uma conexao pronta do pool de integracoes")
+                .tag("pool", POOL_NAME)
+                .register(meterRegistry);
+
+        return HttpClients.custom()
+                .setConnectionManager(integrationConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(timeout(properties.getPool().getAcquireTimeout()))
+                        .setResponseTimeout(timeout(properties.getReadTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(timeValue(properties.getPool().getIdleTimeout()))
+                // O WebServiceTemplate ja envia Content-Length, que o HttpClient tambem adiciona
+                .addRequestInterceptorFirst(new HttpComponents5ClientFactory.RemoveSoapHeadersInterceptor())
+                .addExecInterceptorBefore(ChainElement.CONNECT.name(), "acquire-start", (request, scope, chain) -> {
+                    scope.clientContext.setAttribute(ACQUIRE_STARTED_AT, System.nanoTime());
+                    return chain.proceed(request, scope);
+                })
+                .addExecInterceptorAfter(ChainElement.CONNECT.name(), "acquire-end", (request, scope, chain) -> {
+                    if (scope.clientContext.getAttribute(ACQUIRE_STARTED_AT) instanceof Long startedAt) {
+                        acquireTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    }
+                    return chain.proceed(request, scope);
+                })
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory integrationClientHttpRequestFactory(CloseableHttpClient integrationHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(integrationHttpClient);
     }
 
     @Bean
@@ -35,17 +112,22 @@ public class IntegrationClientConfig {
     }
 
     @Bean
-    public WebServiceTemplate numberConversionWebServiceTemplate(IntegrationProperties properties) throws Exception {
+    public WebServiceTemplate numberConversionWebServiceTemplate(IntegrationProperties properties,
+                                                                 CloseableHttpClient integrationHttpClient) throws Exception {
         SaajSoapMessageFactory messageFactory = new SaajSoapMessageFactory(MessageFactory.newInstance());
         messageFactory.afterPropertiesSet();
 
-        HttpUrlConnectionMessageSender messageSender = new HttpUrlConnectionMessageSender();
-        messageSender.setConnectionTimeout(properties.getConnectTimeout());
-        messageSender.setReadTimeout(properties.getReadTimeout());
-
         WebServiceTemplate webServiceTemplate = new WebServiceTemplate(messageFactory);
         webServiceTemplate.setDefaultUri(properties.getSoap().getNumberConversionUrl());
-        webServiceTemplate.setMessageSender(messageSender);
+        webServiceTemplate.setMessageSender(new SimpleHttpComponents5MessageSender(integrationHttpClient));
         return webServiceTemplate;
     }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    private static TimeValue timeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
 }
@@ -9,6 +9,9 @@ public class IntegrationProperties {
 
     private Duration connectTimeout = Duration.ofSeconds(3);
     private Duration readTimeout = Duration.ofSeconds(5);
+    private Pool pool = new Pool();
+    private Resilience resilience = new Resilience();
+    private Batch batch = new Batch();
     private Rest rest = new Rest();
     private Soap soap = new Soap();
 
@@ -28,6 +31,30 @@ public class IntegrationProperties {
         this.readTimeout = readTimeout;
     }
 
+    public Pool getPool() {
+        return pool;
+    }
+
+    public void setPool(Pool pool) {
+        this.pool = pool;
+    }
+
+    public Resilience getResilience() {
+        return resilience;
+    }
+
+    public void setResilience(Resilience resilience) {
+        this.resilience = resilience;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public void setBatch(Batch batch) {
+        this.batch = batch;
+    }
+
     public Rest getRest() {
         return rest;
     }
@@ -44,9 +71,207 @@ public class IntegrationProperties {
         this.soap = soap;
     }
 
+    /**
+     * Pool de conexoes keep-alive compartilhado pelos clientes REST e SOAP.
+     */
+    public static class Pool {
+
+        private int maxConnections = 100;
+        private int maxConnectionsPerRoute = 20;
+        private Duration acquireTimeout = Duration.ofSeconds(1);
+        private Duration idleTimeout = Duration.ofSeconds(30);
+        private Duration timeToLive = Duration.ofMinutes(5);
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getMaxConnectionsPerRoute() {
+            return maxConnectionsPerRoute;
+        }
+
+        public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        }
+
+        public Duration getAcquireTimeout() {
+            return acquireTimeout;
+        }
+
+        public void setAcquireTimeout(Duration acquireTimeout) {
+            this.acquireTimeout = acquireTimeout;
+        }
+
+        public Duration getIdleTimeout() {
+            return idleTimeout;
+        }
+
+        public void setIdleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public Duration getValidateAfterInactivity() {
+            return validateAfterInactivity;
+        }
+
+        public void setValidateAfterInactivity(Duration validateAfterInactivity) {
+            this.validateAfterInactivity = validateAfterInactivity;
+        }
+    }
+
+    /**
+     * Circuit breaker por servico externo, bulkhead unico para as integracoes (fracao das threads do
+     * Tomcat) e retry com backoff exponencial e jitter.
+     */
+    public static class Resilience {
+
+        private float failureRateThreshold = 50f;
+        private float slowCallRateThreshold = 50f;
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(2);
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpenState = 2;
+        private double maxConcurrentShare = 0.1;
+        private int retryMaxAttempts = 2;
+        private Duration retryBackoff = Duration.ofMillis(100);
+        private double retryJitter = 0.5;
+
+        public float getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(float failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public float getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        public void setSlowCallRateThreshold(float slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+
+        public Duration getSlowCallDurationThreshold() {
+            return slowCallDurationThreshold;
+        }
+
+        public void setSlowCallDurationThreshold(Duration slowCallDurationThreshold) {
+            this.slowCallDurationThreshold = slowCallDurationThreshold;
+        }
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumNumberOfCalls() {
+            return minimumNumberOfCalls;
+        }
+
+        public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+        }
+
+        public Duration getWaitDurationInOpenState() {
+            return waitDurationInOpenState;
+        }
+
+        public void setWaitDurationInOpenState(Duration waitDurationInOpenState) {
+            this.waitDurationInOpenState = waitDurationInOpenState;
+        }
+
+        public int getPermittedCallsInHalfOpenState() {
+            return permittedCallsInHalfOpenState;
+        }
+
+        public void setPermittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+            this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+        }
+
+        public double getMaxConcurrentShare() {
+            return maxConcurrentShare;
+        }
+
+        public void setMaxConcurrentShare(double maxConcurrentShare) {
+            this.maxConcurrentShare = maxConcurrentShare;
+        }
+
+        public int getRetryMaxAttempts() {
+            return retryMaxAttempts;
+        }
+
+        public void setRetryMaxAttempts(int retryMaxAttempts) {
+            this.retryMaxAttempts = retryMaxAttempts;
+        }
+
+        public Duration getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+
+        public double getRetryJitter() {
+            return retryJitter;
+        }
+
+        public void setRetryJitter(double retryJitter) {
+            this.retryJitter = retryJitter;
+        }
+    }
+
+    /**
+     * Consulta de varios pokemons em uma requisicao: limite de nomes distintos e prazo total.
+     */
+    public static class Batch {
+
+        private int maxNames = 20;
+        private Duration deadline = Duration.ofSeconds(3);
+
+        public int getMaxNames() {
+            return maxNames;
+        }
+
+        public void setMaxNames(int maxNames) {
+            this.maxNames = maxNames;
+        }
+
+        public Duration getDeadline() {
+            return deadline;
+        }
+
+        public void setDeadline(Duration deadline) {
+            this.deadline = deadline;
+        }
+    }
+
     public static class Rest {
 
         private String pokeApiBaseUrl = "https://pokeapi.co/api/v2";
+        private long cacheMaxSize = 1000;
+        private Duration cacheTtl = Duration.ofMinutes(10);
+        private Duration cacheMaxStale = Duration.ofHours(1);
+        private Duration cacheNotFoundTtl = Duration.ofMinutes(1);
+        private Duration cacheWaitTimeout = Duration.ofSeconds(3);
 
         public String getPokeApiBaseUrl() {
             return pokeApiBaseUrl;
@@ -55,11 +280,52 @@ public class IntegrationProperties {
         public void setPokeApiBaseUrl(String pokeApiBaseUrl) {
             this.pokeApiBaseUrl = pokeApiBaseUrl;
         }
+
+        public long getCacheMaxSize() {
+            return cacheMaxSize;
+        }
+
+        public void setCacheMaxSize(long cacheMaxSize) {
+            this.cacheMaxSize = cacheMaxSize;
+        }
+
+        public Duration getCacheTtl() {
+            return cacheTtl;
+        }
+
+        public void setCacheTtl(Duration cacheTtl) {
+            this.cacheTtl = cacheTtl;
+        }
+
+        public Duration getCacheMaxStale() {
+            return cacheMaxStale;
+        }
+
+        public void setCacheMaxStale(Duration cacheMaxStale) {
+            this.cacheMaxStale = cacheMaxStale;
+        }
+
+        public Duration getCacheNotFoundTtl() {
+            return cacheNotFoundTtl;
+        }
+
+        public void setCacheNotFoundTtl(Duration cacheNotFoundTtl) {
+            this.cacheNotFoundTtl = cacheNotFoundTtl;
+        }
+
+        public Duration getCacheWaitTimeout() {
+            return cacheWaitTimeout;
+        }
+
+        public void setCacheWaitTimeout(Duration cacheWaitTimeout) {
+            this.cacheWaitTimeout = cacheWaitTimeout;
+        }
     }
 
     public static class Soap {
 
         private String numberConversionUrl = "https://www.dataaccess.com/webservicesserver/NumberConversion.wso";
+        private NumberConversionMode numberConversionMode = NumberConversionMode.LOCAL;
 
         public String getNumberConversionUrl() {
             return numberConversionUrl;
@@ -68,5 +334,23 @@ public class IntegrationProperties {
         public void setNumberConversionUrl(String numberConversionUrl) {
             this.numberConversionUrl = numberConversionUrl;
         }
+
+        public NumberConversionMode getNumberConversionMode() {
+            return numberConversionMode;
+        }
+
+        public void setNumberConversionMode(NumberConversionMode numberConversionMode) {
+            this.numberConversionMode = numberConversionMode;
+        }
+    }
+
+    /**
+     * LOCAL usa so o conversor interno; VERIFY consulta tambem o servico SOAP, registra divergencias
+     * e responde com o valor dele, propagando suas falhas; FALLBACK usa a tabela local e recorre ao SOAP fora dela.
+     */
+    public enum NumberConversionMode {
+        LOCAL,
+        VERIFY,
+        FALLBACK
     }
 }
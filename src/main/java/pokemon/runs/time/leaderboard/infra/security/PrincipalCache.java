@@ -0,0 +1,54 @@
+package pokemon.runs.time.leaderboard.infra.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pokemon.runs.time.leaderboard.domain.user.User;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Cache local do usuario autenticado, indexado pelo subject do JWT (username). Evita a consulta
+ * de usuario a cada requisicao; o {@code AuthService} invalida a entrada quando a senha muda.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, User> cache;
+
+    public PrincipalCache(@Value("${api.security.principal-cache.ttl:5m}") Duration ttl,
+                          @Value("${api.security.principal-cache.max-size:10000}") long maxSize,
+                          MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principalCache");
+    }
+
+    /**
+     * Usuarios inexistentes nao sao guardados, para que um cadastro novo seja visto na hora. A consulta
+     * roda fora do {@code compute} do Caffeine, que segura um monitor e prenderia a carrier thread de
+     * uma virtual thread durante o I/O.
+     */
+    public Optional<User> get(String username, Function<String, Optional<User>> loader) {
+        User cached = cache.getIfPresent(username);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<User> loaded = loader.apply(username);
+        loaded.ifPresent(user -> cache.put(username, user));
+        return loaded;
+    }
+
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+}
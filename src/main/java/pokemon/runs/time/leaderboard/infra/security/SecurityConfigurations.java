@@ -48,6 +48,8 @@ public class SecurityConfigurations {
                         .requestMatchers(HttpMethod.POST, "/auth/forgot-password").permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/reset-password").permitAll()
                         .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/runs/ranking/rebuild").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/runs/stats/users/rebuild").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .authenticationProvider(authenticationProvider())
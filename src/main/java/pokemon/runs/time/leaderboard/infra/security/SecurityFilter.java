@@ -24,6 +24,9 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         var token = this.recoverToken(request);
@@ -34,7 +37,7 @@ public class SecurityFilter extends OncePerRequestFilter {
                 return;
             }
 
-            var user = userRepository.findByUsername(login);
+            var user = principalCache.get(login, userRepository::findByUsername);
             if(user.isPresent()) {
                 var userDetails = user.get();
                 var authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
@@ -1,27 +1,69 @@
 package pokemon.runs.time.leaderboard.infra.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import pokemon.runs.time.leaderboard.domain.user.User;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 
 @Service
 public class TokenService {
 
+    private static final String ISSUER = "leaderboard-api";
+
     @Value("${api.security.token.secret}")
     private String secret;
 
+    @Value("${api.security.token.cache-max-size:10000}")
+    private long cacheMaxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+
+    // Tokens ja verificados, pelo hash SHA-256; cada entrada expira junto com o exp do token
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        algorithm = Algorithm.HMAC256(secret);
+        verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(Expiry.<String, VerifiedToken>creating(
+                        (key, verified) -> Duration.between(Instant.now(), verified.expiresAt())))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verifiedTokenCache");
+    }
+
     public String generateToken(User user) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             return JWT.create()
-                    .withIssuer("leaderboard-api")
+                    .withIssuer(ISSUER)
                     .withSubject(user.getUsername())
                     .withClaim("id", user.getId())
                     .withExpiresAt(generateExpirationDate())
@@ -32,13 +74,23 @@ public class TokenService {
     }
 
     public String validateToken(String token) {
+        if (token == null || token.isBlank()) {
+            return "";
+        }
+
+        String key = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached.subject();
+        }
+
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("leaderboard-api")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            DecodedJWT decoded = verifier.verify(token);
+            Instant expiresAt = decoded.getExpiresAtAsInstant();
+            if (expiresAt != null && decoded.getSubject() != null) {
+                verifiedTokens.put(key, new VerifiedToken(decoded.getSubject(), expiresAt));
+            }
+            return decoded.getSubject();
         } catch (JWTVerificationException exception) {
             return "";
         }
@@ -47,5 +99,16 @@ public class TokenService {
     private Instant generateExpirationDate() {
         return Instant.now().plus(2, ChronoUnit.HOURS);
     }
-}
 
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 indisponivel", exception);
+        }
+    }
+
+    private record VerifiedToken(String subject, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,110 @@
+package pokemon.runs.time.leaderboard.integration.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import pokemon.runs.time.leaderboard.infra.config.IntegrationProperties;
+import pokemon.runs.time.leaderboard.infra.errors.ExternalServiceException;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Protege as chamadas externas: retry com backoff e jitter por fora, circuit breaker por servico e,
+ * por dentro, um bulkhead unico que limita quantas threads de requisicao podem estar presas em
+ * integracoes ao mesmo tempo. Circuito aberto e bulkhead cheio falham na hora com 503.
+ */
+@Component
+public class ExternalCallGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(ExternalCallGuard.class);
+    private static final String BULKHEAD_NAME = "integrations";
+
+    @Autowired
+    private IntegrationProperties integrationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int requestThreads;
+
+    private CircuitBreakerRegistry circuitBreakers;
+    private RetryRegistry retries;
+    private Bulkhead bulkhead;
+
+    @PostConstruct
+    void init() {
+        IntegrationProperties.Resilience resilience = integrationProperties.getResilience();
+
+        circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(resilience.getFailureRateThreshold())
+                .slowCallRateThreshold(resilience.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(resilience.getSlowCallDurationThreshold())
+                .slidingWindowSize(resilience.getSlidingWindowSize())
+                .minimumNumberOfCalls(resilience.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(resilience.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(resilience.getPermittedCallsInHalfOpenState())
+                .recordExceptions(ExternalServiceException.class)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+
+        retries = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(resilience.getRetryMaxAttempts())
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(
+                        resilience.getRetryBackoff(), 2.0, resilience.getRetryJitter()))
+                // Timeout ja consumiu o orcamento da requisicao; so falhas rapidas sao repetidas
+                .retryOnException(ex -> ex instanceof ExternalServiceException external
+                        && external.getStatus() == HttpStatus.BAD_GATEWAY)
+                .build());
+
+        int maxConcurrentCalls = Math.max(1, (int) (requestThreads * resilience.getMaxConcurrentShare()));
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        bulkhead = bulkheads.bulkhead(BULKHEAD_NAME);
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedRetryMetrics.ofRetryRegistry(retries).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+    }
+
+    public <T> T call(String serviceName, Supplier<T> call) {
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(serviceName);
+        Retry retry = retries.retry(serviceName);
+        Supplier<T> guarded = Retry.decorateSupplier(retry,
+                CircuitBreaker.decorateSupplier(circuitBreaker,
+                        Bulkhead.decorateSupplier(bulkhead, call)));
+
+        try {
+            return guarded.get();
+        } catch (CallNotPermittedException ex) {
+            log.warn("Circuito aberto para {}, chamada rejeitada", serviceName);
+            throw new ExternalServiceException(HttpStatus.SERVICE_UNAVAILABLE, serviceName, "Servico externo temporariamente indisponivel");
+        } catch (BulkheadFullException ex) {
+            log.warn("Limite de chamadas simultaneas atingido ao consumir {}", serviceName);
+            throw new ExternalServiceException(HttpStatus.SERVICE_UNAVAILABLE, serviceName, "Limite de chamadas simultaneas a servicos externos atingido");
+        }
+    }
+}
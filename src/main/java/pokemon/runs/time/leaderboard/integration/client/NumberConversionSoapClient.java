@@ -38,7 +38,14 @@ public class NumberConversionSoapClient {
     @Autowired
     private WebServiceTemplate numberConversionWebServiceTemplate;
 
+    @Autowired
+    private ExternalCallGuard externalCallGuard;
+
     public NumberToWordsResult convert(NumberToWordsRequest request) {
+        return externalCallGuard.call(SERVICE_NAME, () -> send(request));
+    }
+
+    private NumberToWordsResult send(NumberToWordsRequest request) {
         String payload = """
                 <NumberToWords xmlns=\"http://www.dataaccess.com/webservicesserver/\">
                     <ubiNum>%d</ubiNum>
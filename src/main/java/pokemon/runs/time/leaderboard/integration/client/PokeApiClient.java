@@ -1,6 +1,13 @@
 package pokemon.runs.time.leaderboard.integration.client;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +16,7 @@ import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
+import pokemon.runs.time.leaderboard.infra.config.IntegrationProperties;
 import pokemon.runs.time.leaderboard.integration.dto.ExternalPokemonDetails;
 import pokemon.runs.time.leaderboard.integration.dto.PokeApiPokemonResponse;
 import pokemon.runs.time.leaderboard.infra.errors.ExternalServiceException;
@@ -18,6 +26,12 @@ import java.net.SocketTimeoutException;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Component
 public class PokeApiClient {
@@ -31,9 +45,76 @@ public class PokeApiClient {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private IntegrationProperties integrationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ExternalCallGuard externalCallGuard;
+
+    // Respostas por nome normalizado; vazio representa 404. Chamadas simultaneas para o mesmo nome
+    // compartilham um unico carregamento e, passado o TTL, a entrada antiga e servida enquanto o
+    // refresh roda em segundo plano (falhas no refresh mantem a entrada antiga ate cacheMaxStale).
+    // Os carregamentos rodam em virtual threads proprias, fora do compute do Caffeine; o bulkhead do
+    // ExternalCallGuard so limita esses carregamentos, entao quem espera o resultado tem prazo proprio.
+    private AsyncLoadingCache<String, Optional<ExternalPokemonDetails>> pokemonCache;
+
+    private final ExecutorService loadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PostConstruct
+    void init() {
+        IntegrationProperties.Rest rest = integrationProperties.getRest();
+        pokemonCache = Caffeine.newBuilder()
+                .executor(loadExecutor)
+                .maximumSize(rest.getCacheMaxSize())
+                .refreshAfterWrite(rest.getCacheTtl())
+                .expireAfter(Expiry.<String, Optional<ExternalPokemonDetails>>writing((name, details) -> details.isPresent()
+                        ? rest.getCacheTtl().plus(rest.getCacheMaxStale())
+                        : rest.getCacheNotFoundTtl()))
+                .recordStats()
+                .buildAsync(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, pokemonCache, "pokeApiCache");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        loadExecutor.shutdownNow();
+    }
+
     public ExternalPokemonDetails fetchPokemon(String pokemonName) {
         String normalizedPokemonName = pokemonName.trim().toLowerCase(Locale.ROOT);
 
+        Optional<ExternalPokemonDetails> details;
+        try {
+            // copy() para o prazo nao cancelar o carregamento compartilhado com as outras requisicoes
+            details = pokemonCache.get(normalizedPokemonName).copy()
+                    .orTimeout(integrationProperties.getRest().getCacheWaitTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                    .join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof TimeoutException) {
+                log.warn("Prazo esgotado aguardando {} para {}", SERVICE_NAME, normalizedPokemonName);
+                throw new ExternalServiceException(HttpStatus.GATEWAY_TIMEOUT, SERVICE_NAME, "Timeout ao consumir servico REST externo");
+            }
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+
+        return details.orElseThrow(() -> new NotFoundException("Pokemon '" + normalizedPokemonName + "' nao encontrado no servico REST externo"));
+    }
+
+    public void invalidateCache() {
+        pokemonCache.synchronous().invalidateAll();
+    }
+
+    private Optional<ExternalPokemonDetails> load(String normalizedPokemonName) {
+        return externalCallGuard.call(SERVICE_NAME, () -> request(normalizedPokemonName));
+    }
+
+    private Optional<ExternalPokemonDetails> request(String normalizedPokemonName) {
         try {
             return pokeApiRestClient.get()
                     .uri("/pokemon/{name}", normalizedPokemonName)
@@ -41,7 +122,7 @@ public class PokeApiClient {
                         HttpStatusCode statusCode = response.getStatusCode();
 
                         if (statusCode.value() == HttpStatus.NOT_FOUND.value()) {
-                            throw new NotFoundException("Pokemon '" + normalizedPokemonName + "' nao encontrado no servico REST externo");
+                            return Optional.<ExternalPokemonDetails>empty();
                         }
 
                         if (!statusCode.is2xxSuccessful()) {
@@ -54,13 +135,13 @@ public class PokeApiClient {
 
                         try {
                             PokeApiPokemonResponse body = objectMapper.readValue(response.getBody(), PokeApiPokemonResponse.class);
-                            return mapResponse(body);
+                            return Optional.of(mapResponse(body));
                         } catch (Exception ex) {
                             log.warn("Resposta invalida ao consumir {}: {}", SERVICE_NAME, ex.getMessage());
                             throw new ExternalServiceException(HttpStatus.BAD_GATEWAY, SERVICE_NAME, "Resposta invalida recebida do servico REST externo");
                         }
                     });
-        } catch (NotFoundException | ExternalServiceException ex) {
+        } catch (ExternalServiceException ex) {
             throw ex;
         } catch (ResourceAccessException ex) {
             throw mapResourceAccessException(ex);
@@ -0,0 +1,38 @@
+package pokemon.runs.time.leaderboard.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Banco em uso, para as poucas instrucoes sem sintaxe comum entre os vendors (upserts). H2 so
+ * aparece nos testes, em modo PostgreSQL, mas sem {@code ON CONFLICT ... DO UPDATE}.
+ */
+public enum DatabaseVendor {
+    POSTGRESQL,
+    MYSQL,
+    H2;
+
+    /**
+     * Resolve pelo dialeto do Hibernate, que ja foi detectado no boot, sem abrir conexao.
+     */
+    public static DatabaseVendor of(EntityManager entityManager) {
+        Dialect dialect = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+        if (dialect instanceof PostgreSQLDialect) {
+            return POSTGRESQL;
+        }
+        if (dialect instanceof MySQLDialect) {
+            return MYSQL;
+        }
+        if (dialect instanceof H2Dialect) {
+            return H2;
+        }
+        throw new IllegalStateException("Banco de dados não suportado: " + dialect);
+    }
+}
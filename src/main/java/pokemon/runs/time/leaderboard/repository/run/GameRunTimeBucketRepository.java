@@ -0,0 +1,27 @@
+package pokemon.runs.time.leaderboard.repository.run;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import pokemon.runs.time.leaderboard.domain.run.GameRunTimeBucket;
+import pokemon.runs.time.leaderboard.domain.run.GameRunTimeBucketId;
+
+import java.util.List;
+
+public interface GameRunTimeBucketRepository extends JpaRepository<GameRunTimeBucket, GameRunTimeBucketId>, GameRunTimeBucketUpsert {
+
+    @Query("SELECT b FROM GameRunTimeBucket b ORDER BY b.game, b.bucketStart")
+    List<GameRunTimeBucket> findAllOrdered();
+
+    @Modifying
+    @Query(value = """
+            UPDATE game_run_time_buckets
+            SET run_count = run_count - 1
+            WHERE game = :game AND bucket_start = :bucketStart
+            """, nativeQuery = true)
+    int removeRun(String game, long bucketStart);
+
+    @Modifying
+    @Query(value = "DELETE FROM game_run_time_buckets WHERE game = :game AND bucket_start = :bucketStart AND run_count <= 0", nativeQuery = true)
+    int deleteIfEmpty(String game, long bucketStart);
+}
@@ -0,0 +1,10 @@
+package pokemon.runs.time.leaderboard.repository.run;
+
+public interface GameRunTimeBucketUpsert {
+
+    /**
+     * Soma runs ao balde, criando a linha na primeira run, em uma unica instrucao pelo mesmo motivo de
+     * {@link GameStatsUpsert#upsertRuns}.
+     */
+    void upsertRuns(String game, long bucketStart, long runCount);
+}
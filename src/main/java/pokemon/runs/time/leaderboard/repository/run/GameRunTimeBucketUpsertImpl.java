@@ -0,0 +1,52 @@
+package pokemon.runs.time.leaderboard.repository.run;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import pokemon.runs.time.leaderboard.repository.DatabaseVendor;
+
+public class GameRunTimeBucketUpsertImpl implements GameRunTimeBucketUpsert {
+
+    private static final String POSTGRESQL = """
+            INSERT INTO game_run_time_buckets (game, bucket_start, run_count)
+            VALUES (:game, :bucketStart, :runCount)
+            ON CONFLICT (game, bucket_start) DO UPDATE
+            SET run_count = game_run_time_buckets.run_count + EXCLUDED.run_count
+            """;
+
+    private static final String MYSQL = """
+            INSERT INTO game_run_time_buckets (game, bucket_start, run_count)
+            VALUES (:game, :bucketStart, :runCount) AS excluded
+            ON DUPLICATE KEY UPDATE
+                run_count = game_run_time_buckets.run_count + excluded.run_count
+            """;
+
+    private static final String H2 = """
+            MERGE INTO game_run_time_buckets b
+            USING (VALUES (CAST(:game AS VARCHAR(100)), CAST(:bucketStart AS BIGINT), CAST(:runCount AS BIGINT)))
+                AS excluded (game, bucket_start, run_count)
+            ON b.game = excluded.game AND b.bucket_start = excluded.bucket_start
+            WHEN MATCHED THEN UPDATE
+            SET run_count = b.run_count + excluded.run_count
+            WHEN NOT MATCHED THEN INSERT (game, bucket_start, run_count)
+            VALUES (excluded.game, excluded.bucket_start, excluded.run_count)
+            """;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void upsertRuns(String game, long bucketStart, long runCount) {
+        String sql = switch (DatabaseVendor.of(entityManager)) {
+            case POSTGRESQL -> POSTGRESQL;
+            case MYSQL -> MYSQL;
+            case H2 -> H2;
+        };
+        entityManager.createNativeQuery(sql)
+                .setParameter("game", game)
+                .setParameter("bucketStart", bucketStart)
+                .setParameter("runCount", runCount)
+                .executeUpdate();
+    }
+}
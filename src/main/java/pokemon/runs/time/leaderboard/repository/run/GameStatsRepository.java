@@ -0,0 +1,44 @@
+package pokemon.runs.time.leaderboard.repository.run;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import pokemon.runs.time.leaderboard.domain.run.GameStats;
+import pokemon.runs.time.leaderboard.dto.runs.AvgRunTimeByGameDTO;
+import pokemon.runs.time.leaderboard.dto.runs.RunsCountByGameDTO;
+
+import java.util.List;
+
+public interface GameStatsRepository extends JpaRepository<GameStats, String>, GameStatsUpsert {
+
+    @Query("SELECT new pokemon.runs.time.leaderboard.dto.runs.RunsCountByGameDTO(s.game, s.runCount) FROM GameStats s ORDER BY s.game")
+    List<RunsCountByGameDTO> countRunsByGame();
+
+    @Query("SELECT new pokemon.runs.time.leaderboard.dto.runs.AvgRunTimeByGameDTO(s.game, CAST(s.totalRunTime AS double) / s.runCount) FROM GameStats s ORDER BY s.game")
+    List<AvgRunTimeByGameDTO> avgRunTimeByGame();
+
+    @Modifying
+    @Query(value = """
+            UPDATE game_stats
+            SET run_count = run_count - 1,
+                total_run_time = total_run_time - :runTime
+            WHERE game = :game
+            """, nativeQuery = true)
+    int removeRun(String game, long runTime);
+
+    @Modifying
+    @Query(value = "DELETE FROM game_stats WHERE game = :game AND run_count <= 0", nativeQuery = true)
+    int deleteIfEmpty(String game);
+
+    /**
+     * Recalcula min/max pelo indice (game, run_time) de runs, so quando o tempo removido era um dos extremos.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE game_stats
+            SET min_run_time = (SELECT MIN(r.run_time) FROM runs r WHERE r.game = :game),
+                max_run_time = (SELECT MAX(r.run_time) FROM runs r WHERE r.game = :game)
+            WHERE game = :game AND (min_run_time = :runTime OR max_run_time = :runTime)
+            """, nativeQuery = true)
+    int recomputeBounds(String game, long runTime);
+}
@@ -0,0 +1,10 @@
+package pokemon.runs.time.leaderboard.repository.run;
+
+public interface GameStatsUpsert {
+
+    /**
+     * Soma runs ao agregado do jogo, criando a linha na primeira run, em uma unica instrucao: duas
+     * transacoes com a primeira run do mesmo jogo nao disputam o INSERT.
+     */
+    void upsertRuns(String game, long runCount, long totalRunTime, long minRunTime, long maxRunTime);
+}
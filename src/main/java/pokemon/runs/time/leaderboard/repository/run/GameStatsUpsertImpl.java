@@ -0,0 +1,64 @@
+package pokemon.runs.time.leaderboard.repository.run;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import pokemon.runs.time.leaderboard.repository.DatabaseVendor;
+
+public class GameStatsUpsertImpl implements GameStatsUpsert {
+
+    private static final String POSTGRESQL = """
+            INSERT INTO game_stats (game, run_count, total_run_time, min_run_time, max_run_time)
+            VALUES (:game, :runCount, :totalRunTime, :minRunTime, :maxRunTime)
+            ON CONFLICT (game) DO UPDATE
+            SET run_count = game_stats.run_count + EXCLUDED.run_count,
+                total_run_time = game_stats.total_run_time + EXCLUDED.total_run_time,
+                min_run_time = LEAST(game_stats.min_run_time, EXCLUDED.min_run_time),
+                max_run_time = GREATEST(game_stats.max_run_time, EXCLUDED.max_run_time)
+            """;
+
+    private static final String MYSQL = """
+            INSERT INTO game_stats (game, run_count, total_run_time, min_run_time, max_run_time)
+            VALUES (:game, :runCount, :totalRunTime, :minRunTime, :maxRunTime) AS excluded
+            ON DUPLICATE KEY UPDATE
+                run_count = game_stats.run_count + excluded.run_count,
+                total_run_time = game_stats.total_run_time + excluded.total_run_time,
+                min_run_time = LEAST(game_stats.min_run_time, excluded.min_run_time),
+                max_run_time = GREATEST(game_stats.max_run_time, excluded.max_run_time)
+            """;
+
+    private static final String H2 = """
+            MERGE INTO game_stats s
+            USING (VALUES (CAST(:game AS VARCHAR(100)), CAST(:runCount AS BIGINT), CAST(:totalRunTime AS BIGINT),
+                           CAST(:minRunTime AS BIGINT), CAST(:maxRunTime AS BIGINT)))
+                AS excluded (game, run_count, total_run_time, min_run_time, max_run_time)
+            ON s.game = excluded.game
+            WHEN MATCHED THEN UPDATE
+            SET run_count = s.run_count + excluded.run_count,
+                total_run_time = s.total_run_time + excluded.total_run_time,
+                min_run_time = LEAST(s.min_run_time, excluded.min_run_time),
+                max_run_time = GREATEST(s.max_run_time, excluded.max_run_time)
+            WHEN NOT MATCHED THEN INSERT (game, run_count, total_run_time, min_run_time, max_run_time)
+            VALUES (excluded.game, excluded.run_count, excluded.total_run_time, excluded.min_run_time, excluded.max_run_time)
+            """;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void upsertRuns(String game, long runCount, long totalRunTime, long minRunTime, long maxRunTime) {
+        String sql = switch (DatabaseVendor.of(entityManager)) {
+            case POSTGRESQL -> POSTGRESQL;
+            case MYSQL -> MYSQL;
+            case H2 -> H2;
+        };
+        entityManager.createNativeQuery(sql)
+                .setParameter("game", game)
+                .setParameter("runCount", runCount)
+                .setParameter("totalRunTime", totalRunTime)
+                .setParameter("minRunTime", minRunTime)
+                .setParameter("maxRunTime", maxRunTime)
+                .executeUpdate();
+    }
+}
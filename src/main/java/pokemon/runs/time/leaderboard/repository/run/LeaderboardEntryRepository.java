@@ -0,0 +1,103 @@
+package pokemon.runs.time.leaderboard.repository.run;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import pokemon.runs.time.leaderboard.domain.run.LeaderboardEntry;
+import pokemon.runs.time.leaderboard.dto.runs.DetailsRunDTO;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Leituras das listagens de runs sobre {@code leaderboard_entries}: cada consulta projeta direto em
+ * {@link DetailsRunDTO}, sem carregar entidades nem consultar users. Tempos em minutos.
+ */
+public interface LeaderboardEntryRepository extends JpaRepository<LeaderboardEntry, Long> {
+    String DETAILS = """
+            SELECT new pokemon.runs.time.leaderboard.dto.runs.DetailsRunDTO(
+                e.id, e.game, e.formattedRunTime, e.pokedexStatus, e.pokemonTeam, e.observation, e.userId, e.username)
+            FROM LeaderboardEntry e
+            """;
+
+    String POKEMON_IN_TEAM = """
+            WHERE e.id IN (SELECT r.id FROM runs r JOIN r.teamMembers m WHERE m.pokemonKey = LOWER(:pokemon))
+            """;
+
+    @Query(value = DETAILS, countQuery = "SELECT COUNT(e) FROM LeaderboardEntry e")
+    Page<DetailsRunDTO> findAllDetails(Pageable pageable);
+
+    @Query(DETAILS + "WHERE e.id = :id")
+    Optional<DetailsRunDTO> findDetailsById(Long id);
+
+    @Query(value = DETAILS + "WHERE e.gameKey = LOWER(:game)",
+            countQuery = "SELECT COUNT(e) FROM LeaderboardEntry e WHERE e.gameKey = LOWER(:game)")
+    Page<DetailsRunDTO> findByGameIgnoreCase(String game, Pageable pageable);
+
+    @Query(value = DETAILS + "WHERE e.runTime <= :maxMinutes",
+            countQuery = "SELECT COUNT(e) FROM LeaderboardEntry e WHERE e.runTime <= :maxMinutes")
+    Page<DetailsRunDTO> findFastestRuns(long maxMinutes, Pageable pageable);
+
+    @Query(value = DETAILS + "WHERE e.pokedexStatus >= :minStatus",
+            countQuery = "SELECT COUNT(e) FROM LeaderboardEntry e WHERE e.pokedexStatus >= :minStatus")
+    Page<DetailsRunDTO> findByMinPokedexStatus(int minStatus, Pageable pageable);
+
+    @Query(value = DETAILS + "WHERE e.userId = :userId",
+            countQuery = "SELECT COUNT(e) FROM LeaderboardEntry e WHERE e.userId = :userId")
+    Page<DetailsRunDTO> findByUserId(Long userId, Pageable pageable);
+
+    @Query(value = DETAILS + POKEMON_IN_TEAM,
+            countQuery = "SELECT COUNT(e) FROM LeaderboardEntry e " + POKEMON_IN_TEAM)
+    Page<DetailsRunDTO> findByPokemonInTeam(String pokemon, Pageable pageable);
+
+    @Query(DETAILS + """
+            WHERE e.runTime >= :runTime AND (e.runTime > :runTime OR e.id > :id)
+            ORDER BY e.runTime, e.id
+            """)
+    List<DetailsRunDTO> findAfterRunTime(long runTime, Long id, Limit limit);
+
+    @Query(DETAILS + """
+            WHERE e.gameKey = LOWER(:game)
+              AND e.runTime >= :runTime AND (e.runTime > :runTime OR e.id > :id)
+            ORDER BY e.runTime, e.id
+            """)
+    List<DetailsRunDTO> findByGameAfterRunTime(String game, long runTime, Long id, Limit limit);
+
+    @Query(DETAILS + """
+            WHERE e.runTime <= :maxMinutes
+              AND e.runTime >= :runTime AND (e.runTime > :runTime OR e.id > :id)
+            ORDER BY e.runTime, e.id
+            """)
+    List<DetailsRunDTO> findFastestRunsAfter(long maxMinutes, long runTime, Long id, Limit limit);
+
+    @Query(DETAILS + """
+            WHERE e.pokedexStatus >= :minStatus
+              AND e.pokedexStatus <= :pokedexStatus AND (e.pokedexStatus < :pokedexStatus OR e.id < :id)
+            ORDER BY e.pokedexStatus DESC, e.id DESC
+            """)
+    List<DetailsRunDTO> findByMinPokedexStatusAfter(int minStatus, int pokedexStatus, Long id, Limit limit);
+
+    @Query(DETAILS + """
+            WHERE e.userId = :userId AND e.gameKey = LOWER(:game)
+            ORDER BY e.runTime, e.id
+            """)
+    List<DetailsRunDTO> findBestByUserAndGame(Long userId, String game, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(DETAILS + "ORDER BY e.id")
+    Stream<DetailsRunDTO> streamAllDetails();
+
+    @Modifying
+    @Query("DELETE FROM LeaderboardEntry e WHERE e.id = :id")
+    int deleteByRunId(Long id);
+}
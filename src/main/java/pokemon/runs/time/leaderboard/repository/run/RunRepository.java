@@ -1,40 +1,36 @@
 package pokemon.runs.time.leaderboard.repository.run;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import pokemon.runs.time.leaderboard.domain.run.Run;
-import pokemon.runs.time.leaderboard.dto.runs.AvgRunTimeByGameDTO;
-import pokemon.runs.time.leaderboard.dto.runs.RunsCountByGameDTO;
+import pokemon.runs.time.leaderboard.dto.runs.RunExportRow;
+import pokemon.runs.time.leaderboard.dto.runs.TopPokemonDTO;
 
-import java.time.Duration;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface RunRepository extends JpaRepository<Run, Long> {
-    Page<Run> findByGameIgnoreCase(String game, Pageable pageable);
-
-    @Query("SELECT r FROM runs r WHERE r.runTime <= :maxDuration")
-    Page<Run> findFastestRuns(Duration maxDuration, Pageable pageable);
-
-    @Query("SELECT r FROM runs r WHERE r.pokedexStatus >= :minStatus")
-    Page<Run> findByMinPokedexStatus(int minStatus, Pageable pageable);
-
-    @Query(
-            value = """
-                    SELECT *
-                    FROM runs r
-                    WHERE LOWER(CONCAT(',', r.pokemon_team, ',')) LIKE LOWER(CONCAT('%,', :pokemon, ',%'))
-                    """,
-            nativeQuery = true
-    )
-    Page<Run> findByPokemonInTeam(String pokemon, Pageable pageable);
-
-    @Query("SELECT new pokemon.runs.time.leaderboard.dto.runs.RunsCountByGameDTO(r.game, COUNT(r)) FROM runs r GROUP BY r.game")
-    List<RunsCountByGameDTO> countRunsByGame();
-
-    @Query("SELECT new pokemon.runs.time.leaderboard.dto.runs.AvgRunTimeByGameDTO(r.game, AVG(r.runTime)) FROM runs r GROUP BY r.game")
-    List<AvgRunTimeByGameDTO> avgRunTimeByGame();
-
-    Page<Run> findByUserId(Long userId, Pageable pageable);
+    @Query("""
+            SELECT new pokemon.runs.time.leaderboard.dto.runs.TopPokemonDTO(m.pokemon, COUNT(m))
+            FROM runs r JOIN r.teamMembers m
+            GROUP BY m.pokemon
+            ORDER BY COUNT(m) DESC, LOWER(m.pokemon)
+            """)
+    List<TopPokemonDTO> findTopPokemons(Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new pokemon.runs.time.leaderboard.dto.runs.RunExportRow(
+                r.id, r.game, r.runTime, r.pokedexStatus, r.pokemonTeam, r.observation, u.username, r.createdAt)
+            FROM runs r JOIN r.user u
+            ORDER BY r.id
+            """)
+    Stream<RunExportRow> streamAllForExport();
 }
@@ -0,0 +1,69 @@
+package pokemon.runs.time.leaderboard.repository.run;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import pokemon.runs.time.leaderboard.domain.run.UserGameStats;
+import pokemon.runs.time.leaderboard.domain.run.UserGameStatsId;
+import pokemon.runs.time.leaderboard.dto.runs.UserGameStatsDTO;
+
+import java.util.List;
+
+public interface UserGameStatsRepository extends JpaRepository<UserGameStats, UserGameStatsId>, UserGameStatsUpsert {
+
+    @Query("""
+            SELECT new pokemon.runs.time.leaderboard.dto.runs.UserGameStatsDTO(
+                s.game, s.runCount, s.totalRunTime, s.bestRunTime, s.bestRunId)
+            FROM UserGameStats s WHERE s.userId = :userId ORDER BY s.game
+            """)
+    List<UserGameStatsDTO> findByUserId(Long userId);
+
+    @Modifying
+    @Query(value = """
+            UPDATE user_game_stats
+            SET run_count = run_count - 1,
+                total_run_time = total_run_time - :runTime
+            WHERE user_id = :userId AND game = :game
+            """, nativeQuery = true)
+    int removeRun(Long userId, String game, long runTime);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_game_stats WHERE user_id = :userId AND game = :game AND run_count <= 0", nativeQuery = true)
+    int deleteIfEmpty(Long userId, String game);
+
+    /**
+     * Recalcula o recorde pelo indice (user_id, game, run_time) de runs, so quando a run removida era o recorde.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE user_game_stats
+            SET best_run_time = (SELECT MIN(r.run_time) FROM runs r WHERE r.user_id = :userId AND r.game = :game),
+                best_run_id = (SELECT MIN(r.id) FROM runs r WHERE r.user_id = :userId AND r.game = :game
+                    AND r.run_time = (SELECT MIN(b.run_time) FROM runs b WHERE b.user_id = :userId AND b.game = :game))
+            WHERE user_id = :userId AND game = :game AND best_run_id = :runId
+            """, nativeQuery = true)
+    int recomputeBest(Long userId, String game, Long runId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_game_stats", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO user_game_stats (user_id, game, run_count, total_run_time, best_run_time, best_run_id)
+            SELECT r.user_id, r.game, COUNT(*), SUM(r.run_time), MIN(r.run_time), MIN(r.id)
+            FROM runs r
+            WHERE r.user_id IS NOT NULL
+            GROUP BY r.user_id, r.game
+            """, nativeQuery = true)
+    int insertFromRuns();
+
+    @Modifying
+    @Query(value = """
+            UPDATE user_game_stats
+            SET best_run_id = (SELECT MIN(r.id) FROM runs r
+                WHERE r.user_id = user_game_stats.user_id AND r.game = user_game_stats.game
+                  AND r.run_time = user_game_stats.best_run_time)
+            """, nativeQuery = true)
+    int fixBestRunIds();
+}
@@ -0,0 +1,11 @@
+package pokemon.runs.time.leaderboard.repository.run;
+
+public interface UserGameStatsUpsert {
+
+    /**
+     * Soma runs ao agregado do usuario no jogo, criando a linha na primeira run, em uma unica instrucao
+     * pelo mesmo motivo de {@link GameStatsUpsert#upsertRuns}. best_run_id so troca junto com
+     * best_run_time, com o menor id desempatando tempos iguais.
+     */
+    void upsertRuns(Long userId, String game, long runCount, long totalRunTime, long bestRunTime, Long bestRunId);
+}
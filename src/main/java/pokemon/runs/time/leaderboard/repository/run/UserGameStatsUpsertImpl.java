@@ -0,0 +1,80 @@
+package pokemon.runs.time.leaderboard.repository.run;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import pokemon.runs.time.leaderboard.repository.DatabaseVendor;
+
+public class UserGameStatsUpsertImpl implements UserGameStatsUpsert {
+
+    private static final String POSTGRESQL = """
+            INSERT INTO user_game_stats (user_id, game, run_count, total_run_time, best_run_time, best_run_id)
+            VALUES (:userId, :game, :runCount, :totalRunTime, :bestRunTime, :bestRunId)
+            ON CONFLICT (user_id, game) DO UPDATE
+            SET run_count = user_game_stats.run_count + EXCLUDED.run_count,
+                total_run_time = user_game_stats.total_run_time + EXCLUDED.total_run_time,
+                best_run_id = CASE
+                    WHEN EXCLUDED.best_run_time < user_game_stats.best_run_time
+                        OR (EXCLUDED.best_run_time = user_game_stats.best_run_time
+                            AND EXCLUDED.best_run_id < user_game_stats.best_run_id)
+                    THEN EXCLUDED.best_run_id ELSE user_game_stats.best_run_id END,
+                best_run_time = LEAST(user_game_stats.best_run_time, EXCLUDED.best_run_time)
+            """;
+
+    /**
+     * best_run_id vem antes de best_run_time: o MySQL aplica as atribuicoes da esquerda para a direita.
+     */
+    private static final String MYSQL = """
+            INSERT INTO user_game_stats (user_id, game, run_count, total_run_time, best_run_time, best_run_id)
+            VALUES (:userId, :game, :runCount, :totalRunTime, :bestRunTime, :bestRunId) AS excluded
+            ON DUPLICATE KEY UPDATE
+                run_count = user_game_stats.run_count + excluded.run_count,
+                total_run_time = user_game_stats.total_run_time + excluded.total_run_time,
+                best_run_id = CASE
+                    WHEN excluded.best_run_time < user_game_stats.best_run_time
+                        OR (excluded.best_run_time = user_game_stats.best_run_time
+                            AND excluded.best_run_id < user_game_stats.best_run_id)
+                    THEN excluded.best_run_id ELSE user_game_stats.best_run_id END,
+                best_run_time = LEAST(user_game_stats.best_run_time, excluded.best_run_time)
+            """;
+
+    private static final String H2 = """
+            MERGE INTO user_game_stats s
+            USING (VALUES (CAST(:userId AS BIGINT), CAST(:game AS VARCHAR(100)), CAST(:runCount AS BIGINT),
+                           CAST(:totalRunTime AS BIGINT), CAST(:bestRunTime AS BIGINT), CAST(:bestRunId AS BIGINT)))
+                AS excluded (user_id, game, run_count, total_run_time, best_run_time, best_run_id)
+            ON s.user_id = excluded.user_id AND s.game = excluded.game
+            WHEN MATCHED THEN UPDATE
+            SET run_count = s.run_count + excluded.run_count,
+                total_run_time = s.total_run_time + excluded.total_run_time,
+                best_run_id = CASE
+                    WHEN excluded.best_run_time < s.best_run_time
+                        OR (excluded.best_run_time = s.best_run_time AND excluded.best_run_id < s.best_run_id)
+                    THEN excluded.best_run_id ELSE s.best_run_id END,
+                best_run_time = LEAST(s.best_run_time, excluded.best_run_time)
+            WHEN NOT MATCHED THEN INSERT (user_id, game, run_count, total_run_time, best_run_time, best_run_id)
+            VALUES (excluded.user_id, excluded.game, excluded.run_count, excluded.total_run_time,
+                    excluded.best_run_time, excluded.best_run_id)
+            """;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void upsertRuns(Long userId, String game, long runCount, long totalRunTime, long bestRunTime, Long bestRunId) {
+        String sql = switch (DatabaseVendor.of(entityManager)) {
+            case POSTGRESQL -> POSTGRESQL;
+            case MYSQL -> MYSQL;
+            case H2 -> H2;
+        };
+        entityManager.createNativeQuery(sql)
+                .setParameter("userId", userId)
+                .setParameter("game", game)
+                .setParameter("runCount", runCount)
+                .setParameter("totalRunTime", totalRunTime)
+                .setParameter("bestRunTime", bestRunTime)
+                .setParameter("bestRunId", bestRunId)
+                .executeUpdate();
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import pokemon.runs.time.leaderboard.domain.user.PasswordResetToken;
 import pokemon.runs.time.leaderboard.domain.user.User;
 import pokemon.runs.time.leaderboard.dto.auth.LoginResponseDTO;
@@ -15,6 +17,7 @@ import pokemon.runs.time.leaderboard.dto.users.*;
 import pokemon.runs.time.leaderboard.infra.errors.DuplicateResourceException;
 import pokemon.runs.time.leaderboard.infra.errors.NotFoundException;
 import pokemon.runs.time.leaderboard.infra.errors.UnauthorizedException;
+import pokemon.runs.time.leaderboard.infra.security.PrincipalCache;
 import pokemon.runs.time.leaderboard.infra.security.TokenService;
 import pokemon.runs.time.leaderboard.repository.user.PasswordResetTokenRepository;
 import pokemon.runs.time.leaderboard.repository.user.UserRepository;
@@ -40,6 +43,9 @@ public class AuthService {
     @Autowired
     private PasswordResetTokenRepository passwordResetTokenRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     public RegisterResponseDTO register(CreateUserDTO data) {
         if (data.username().length() < 3) {
             throw new IllegalArgumentException("Username deve ter no mínimo 3 caracteres");
@@ -90,7 +96,11 @@ public class AuthService {
     }
 
     @Transactional
-    public MessageResponseDTO changePassword(User user, ChangePasswordDTO data) {
+    public MessageResponseDTO changePassword(User principal, ChangePasswordDTO data) {
+        // O principal pode vir do PrincipalCache; a troca usa o estado atual do banco
+        User user = userRepository.findById(principal.getId())
+                .orElseThrow(() -> new NotFoundException("Usuário não encontrado"));
+
         if (!passwordEncoder.matches(data.currentPassword(), user.getPassword())) {
             throw new UnauthorizedException("Senha atual incorreta");
         }
@@ -101,6 +111,7 @@ public class AuthService {
 
         user.setPassword(passwordEncoder.encode(data.newPassword()));
         userRepository.save(user);
+        invalidatePrincipal(user.getUsername());
 
         return new MessageResponseDTO("Senha alterada com sucesso");
     }
@@ -142,11 +153,27 @@ public class AuthService {
         User user = resetToken.getUser();
         user.setPassword(passwordEncoder.encode(data.newPassword()));
         userRepository.save(user);
+        invalidatePrincipal(user.getUsername());
 
         resetToken.setUsed(true);
         passwordResetTokenRepository.save(resetToken);
 
         return new MessageResponseDTO("Senha redefinida com sucesso");
     }
-}
 
+    /**
+     * Invalida agora e de novo depois do commit: uma requisicao entre as duas ainda le a senha antiga do
+     * banco e recolocaria o usuario antigo no cache ate o TTL.
+     */
+    private void invalidatePrincipal(String username) {
+        principalCache.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principalCache.invalidate(username);
+                }
+            });
+        }
+    }
+}
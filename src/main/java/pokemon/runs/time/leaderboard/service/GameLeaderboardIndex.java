@@ -0,0 +1,283 @@
+package pokemon.runs.time.leaderboard.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pokemon.runs.time.leaderboard.domain.run.RunChangedEvent;
+import pokemon.runs.time.leaderboard.domain.run.RunSnapshot;
+import pokemon.runs.time.leaderboard.domain.run.RunsCreatedEvent;
+import pokemon.runs.time.leaderboard.dto.runs.CursorPageDTO;
+import pokemon.runs.time.leaderboard.dto.runs.DetailsRunDTO;
+import pokemon.runs.time.leaderboard.dto.runs.RunRankDTO;
+import pokemon.runs.time.leaderboard.repository.run.LeaderboardEntryRepository;
+import pokemon.runs.time.leaderboard.utils.OrderStatisticTree;
+import pokemon.runs.time.leaderboard.utils.RunCursor;
+import pokemon.runs.time.leaderboard.utils.RunTimeParser;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * {@link RunRanking} em memoria: uma arvore de estatistica de ordem por jogo e outra global,
+ * ordenadas por (runTime, id). Cada instancia mantem a sua a partir dos proprios eventos.
+ *
+ * <p>Durante uma reconstrucao os eventos continuam nas arvores atuais e tambem vao para um changelog,
+ * reaplicado nas arvores novas antes da troca.
+ */
+@Component
+@ConditionalOnExpression("'${spring.cache.type:none}' != 'redis'")
+public class GameLeaderboardIndex implements RunRanking {
+
+    private static final Logger log = LoggerFactory.getLogger(GameLeaderboardIndex.class);
+
+    @Autowired
+    private LeaderboardEntryRepository leaderboardEntryRepository;
+
+    private volatile Map<String, GameBoard> boards = new ConcurrentHashMap<>();
+    private volatile GameBoard global = new GameBoard();
+    private volatile boolean ready;
+
+    /**
+     * Serializa a aplicacao dos eventos com o changelog e a troca das arvores, para um evento nunca
+     * cair so nas arvores que estao saindo.
+     */
+    private final Object writeLock = new Object();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private List<RunChangedEvent> changelog;
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Devolve -1, sem carregar, se outra reconstrucao ja estiver em andamento.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public int rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            log.info("Reconstrucao do ranking por jogo ja em andamento");
+            return -1;
+        }
+        try {
+            // Eventos anteriores ao changelog ja estao no banco que vai ser lido
+            synchronized (writeLock) {
+                changelog = new ArrayList<>();
+            }
+            Map<String, GameBoard> rebuilt = new ConcurrentHashMap<>();
+            GameBoard rebuiltGlobal = new GameBoard();
+            int count = 0;
+            try (Stream<DetailsRunDTO> runs = leaderboardEntryRepository.streamAllDetails()) {
+                Iterator<DetailsRunDTO> iterator = runs.iterator();
+                while (iterator.hasNext()) {
+                    DetailsRunDTO run = iterator.next();
+                    RankKey key = new RankKey(RunTimeParser.parse(run.runTime()).toMinutes(), run.id());
+                    rebuilt.computeIfAbsent(gameKey(run.game()), game -> new GameBoard()).put(key, run);
+                    rebuiltGlobal.put(key, run);
+                    count++;
+                }
+            }
+            synchronized (writeLock) {
+                for (RunChangedEvent event : changelog) {
+                    apply(rebuilt, rebuiltGlobal, event);
+                }
+                boards = rebuilt;
+                global = rebuiltGlobal;
+                ready = true;
+            }
+            log.info("Ranking por jogo reconstruido com {} runs em {} jogos", count, rebuilt.size());
+            return count;
+        } finally {
+            synchronized (writeLock) {
+                changelog = null;
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRunChanged(RunChangedEvent event) {
+        synchronized (writeLock) {
+            record(event);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRunsCreated(RunsCreatedEvent event) {
+        synchronized (writeLock) {
+            for (RunSnapshot run : event.runs()) {
+                record(RunChangedEvent.created(run));
+            }
+        }
+    }
+
+    private void record(RunChangedEvent event) {
+        if (changelog != null) {
+            changelog.add(event);
+        }
+        apply(boards, global, event);
+    }
+
+    private static void apply(Map<String, GameBoard> boards, GameBoard global, RunChangedEvent event) {
+        RunSnapshot previous = event.previous();
+        if (previous != null) {
+            GameBoard board = boards.get(gameKey(previous.game()));
+            if (board != null) {
+                board.remove(RankKey.of(previous));
+            }
+            global.remove(RankKey.of(previous));
+        }
+        RunSnapshot current = event.current();
+        if (current != null) {
+            RankKey key = RankKey.of(current);
+            DetailsRunDTO details = current.toDetails();
+            boards.computeIfAbsent(gameKey(current.game()), game -> new GameBoard()).put(key, details);
+            global.put(key, details);
+        }
+    }
+
+    @Override
+    public Page<DetailsRunDTO> findPage(String game, Pageable pageable) {
+        GameBoard board = boards.get(gameKey(game));
+        if (board == null) {
+            return Page.empty(pageable);
+        }
+        return board.page(pageable);
+    }
+
+    @Override
+    public CursorPageDTO<DetailsRunDTO> findAfter(String game, RunCursor after, int size) {
+        GameBoard board = boards.get(gameKey(game));
+        if (board == null) {
+            return new CursorPageDTO<>(List.of(), size, null, false);
+        }
+        return board.after(new RankKey(after.sortValue(), after.id()), size);
+    }
+
+    @Override
+    public List<DetailsRunDTO> findTop(int limit) {
+        return global.page(PageRequest.of(0, limit)).getContent();
+    }
+
+    @Override
+    public Optional<RunRankDTO> findRank(String game, long runTimeMinutes, long runId, int around) {
+        GameBoard board = boards.get(gameKey(game));
+        if (board == null) {
+            return Optional.empty();
+        }
+        return board.around(new RankKey(runTimeMinutes, runId), around);
+    }
+
+    private static String gameKey(String game) {
+        return game.toLowerCase(Locale.ROOT);
+    }
+
+    private record RankKey(long runTimeMinutes, long runId) implements Comparable<RankKey> {
+
+        private static RankKey of(RunSnapshot snapshot) {
+            return new RankKey(snapshot.runTimeMinutes(), snapshot.id());
+        }
+
+        @Override
+        public int compareTo(RankKey other) {
+            int byTime = Long.compare(runTimeMinutes, other.runTimeMinutes);
+            return byTime != 0 ? byTime : Long.compare(runId, other.runId);
+        }
+    }
+
+    private record RankedRun(RankKey key, DetailsRunDTO details) {
+    }
+
+    private static final class GameBoard {
+        private final OrderStatisticTree<RankKey, RankedRun> tree = new OrderStatisticTree<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private void put(RankKey key, DetailsRunDTO details) {
+            lock.writeLock().lock();
+            try {
+                tree.put(key, new RankedRun(key, details));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void remove(RankKey key) {
+            lock.writeLock().lock();
+            try {
+                tree.remove(key);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private Page<DetailsRunDTO> page(Pageable pageable) {
+            lock.readLock().lock();
+            try {
+                List<RankedRun> ranked = pageable.isPaged()
+                        ? tree.slice(pageable.getOffset(), pageable.getPageSize())
+                        : tree.slice(0, tree.size());
+                return new PageImpl<>(ranked.stream().map(RankedRun::details).toList(), pageable, tree.size());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private Optional<RunRankDTO> around(RankKey key, int around) {
+            lock.readLock().lock();
+            try {
+                RankedRun run = tree.get(key);
+                if (run == null) {
+                    return Optional.empty();
+                }
+                int position = tree.countLessThan(key);
+                int from = Math.max(0, position - around);
+                return Optional.of(new RunRankDTO(
+                        position + 1L,
+                        tree.size(),
+                        run.details(),
+                        tree.slice(from, position - from).stream().map(RankedRun::details).toList(),
+                        tree.slice(position + 1L, around).stream().map(RankedRun::details).toList()));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private CursorPageDTO<DetailsRunDTO> after(RankKey key, int size) {
+            lock.readLock().lock();
+            try {
+                int offset = tree.countLessThan(new RankKey(key.runTimeMinutes(), key.runId() + 1));
+                List<RankedRun> ranked = tree.slice(offset, size);
+                boolean hasNext = offset + ranked.size() < tree.size();
+                String nextCursor = null;
+                if (hasNext) {
+                    RankKey last = ranked.getLast().key();
+                    nextCursor = new RunCursor(last.runTimeMinutes(), last.runId()).encode();
+                }
+                return new CursorPageDTO<>(ranked.stream().map(RankedRun::details).toList(), size, nextCursor, hasNext);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package pokemon.runs.time.leaderboard.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import pokemon.runs.time.leaderboard.domain.run.RunChangedEvent;
+import pokemon.runs.time.leaderboard.domain.run.RunSnapshot;
+import pokemon.runs.time.leaderboard.domain.run.RunsCreatedEvent;
+import pokemon.runs.time.leaderboard.repository.run.GameRunTimeBucketRepository;
+import pokemon.runs.time.leaderboard.repository.run.GameStatsRepository;
+import pokemon.runs.time.leaderboard.utils.RunTimeHistogram;
+
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Mantem as tabelas game_stats e game_run_time_buckets na mesma transacao das escritas do
+ * {@link RunService}, para que {@code /runs/stats/*} leia uma linha (ou um histograma) por jogo em
+ * vez de agrupar ou ordenar a tabela runs.
+ */
+@Component
+public class GameStatsUpdater {
+
+    @Autowired
+    private GameStatsRepository gameStatsRepository;
+
+    @Autowired
+    private GameRunTimeBucketRepository gameRunTimeBucketRepository;
+
+    @EventListener
+    public void onRunChanged(RunChangedEvent event) {
+        RunSnapshot previous = event.previous();
+        RunSnapshot current = event.current();
+        if (previous != null && current != null
+                && previous.game().equals(current.game())
+                && previous.runTimeMinutes() == current.runTimeMinutes()) {
+            return;
+        }
+
+        if (previous != null) {
+            removeRun(previous.game(), previous.runTimeMinutes());
+            removeFromBucket(previous.game(), previous.runTimeMinutes());
+        }
+        if (current != null) {
+            addRun(current.game(), current.runTimeMinutes());
+            addToBucket(current.game(), RunTimeHistogram.bucketStart(current.runTimeMinutes()), 1);
+        }
+    }
+
+    /**
+     * Um UPDATE por jogo e por balde de tempo do lote. Como toda query nativa dispara o flush, os INSERTs das runs
+     * pendentes saem aqui, ainda agrupados em batch. Os jogos vao em ordem alfabetica para que lotes
+     * concorrentes travem as linhas de game_stats e dos baldes na mesma ordem, sem deadlock.
+     */
+    @EventListener
+    public void onRunsCreated(RunsCreatedEvent event) {
+        Map<String, LongSummaryStatistics> byGame = event.runs().stream()
+                .collect(Collectors.groupingBy(RunSnapshot::game, TreeMap::new,
+                        Collectors.summarizingLong(RunSnapshot::runTimeMinutes)));
+        byGame.forEach((game, stats) ->
+                addRuns(game, stats.getCount(), stats.getSum(), stats.getMin(), stats.getMax()));
+
+        Map<String, Map<Long, Long>> buckets = event.runs().stream()
+                .collect(Collectors.groupingBy(RunSnapshot::game, TreeMap::new,
+                        Collectors.groupingBy(run -> RunTimeHistogram.bucketStart(run.runTimeMinutes()),
+                                TreeMap::new, Collectors.counting())));
+        buckets.forEach((game, counts) -> counts.forEach((bucketStart, count) -> addToBucket(game, bucketStart, count)));
+    }
+
+    private void addRun(String game, long runTime) {
+        addRuns(game, 1, runTime, runTime, runTime);
+    }
+
+    private void addRuns(String game, long runCount, long totalRunTime, long minRunTime, long maxRunTime) {
+        gameStatsRepository.upsertRuns(game, runCount, totalRunTime, minRunTime, maxRunTime);
+    }
+
+    private void addToBucket(String game, long bucketStart, long count) {
+        gameRunTimeBucketRepository.upsertRuns(game, bucketStart, count);
+    }
+
+    private void removeFromBucket(String game, long runTime) {
+        long bucketStart = RunTimeHistogram.bucketStart(runTime);
+        if (gameRunTimeBucketRepository.removeRun(game, bucketStart) > 0) {
+            gameRunTimeBucketRepository.deleteIfEmpty(game, bucketStart);
+        }
+    }
+
+    private void removeRun(String game, long runTime) {
+        if (gameStatsRepository.removeRun(game, runTime) == 0) {
+            return;
+        }
+        if (gameStatsRepository.deleteIfEmpty(game) == 0) {
+            gameStatsRepository.recomputeBounds(game, runTime);
+        }
+    }
+}
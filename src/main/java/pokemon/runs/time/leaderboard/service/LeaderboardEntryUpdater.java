@@ -0,0 +1,44 @@
+package pokemon.runs.time.leaderboard.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import pokemon.runs.time.leaderboard.domain.run.LeaderboardEntry;
+import pokemon.runs.time.leaderboard.domain.run.RunChangedEvent;
+import pokemon.runs.time.leaderboard.domain.run.RunSnapshot;
+import pokemon.runs.time.leaderboard.domain.run.RunsCreatedEvent;
+import pokemon.runs.time.leaderboard.repository.run.LeaderboardEntryRepository;
+
+/**
+ * Mantem {@code leaderboard_entries} na mesma transacao das escritas do {@link RunService}, como o
+ * {@link GameStatsUpdater} faz com game_stats.
+ */
+@Component
+public class LeaderboardEntryUpdater {
+
+    @Autowired
+    private LeaderboardEntryRepository leaderboardEntryRepository;
+
+    @EventListener
+    public void onRunChanged(RunChangedEvent event) {
+        RunSnapshot current = event.current();
+        if (current == null) {
+            leaderboardEntryRepository.deleteByRunId(event.previous().id());
+            return;
+        }
+        if (event.previous() == null) {
+            leaderboardEntryRepository.save(LeaderboardEntry.of(current));
+            return;
+        }
+        leaderboardEntryRepository.findById(current.id())
+                .ifPresentOrElse(entry -> entry.apply(current),
+                        () -> leaderboardEntryRepository.save(LeaderboardEntry.of(current)));
+    }
+
+    // As linhas sao novas, entao saem em batch junto com os INSERTs das runs; as runs entram antes na
+    // sessao, entao o order_inserts mantem os INSERTs delas na frente, como pede a FK para runs
+    @EventListener
+    public void onRunsCreated(RunsCreatedEvent event) {
+        leaderboardEntryRepository.saveAll(event.runs().stream().map(LeaderboardEntry::of).toList());
+    }
+}
@@ -1,31 +1,143 @@
 package pokemon.runs.time.leaderboard.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import pokemon.runs.time.leaderboard.dto.integration.PokemonBatchItemDTO;
+import pokemon.runs.time.leaderboard.dto.integration.PokemonBatchResponseDTO;
 import pokemon.runs.time.leaderboard.dto.integration.PokemonIntegrationResponseDTO;
+import pokemon.runs.time.leaderboard.infra.config.IntegrationProperties;
+import pokemon.runs.time.leaderboard.infra.errors.ExternalServiceException;
+import pokemon.runs.time.leaderboard.infra.errors.NotFoundException;
 import pokemon.runs.time.leaderboard.integration.client.NumberConversionSoapClient;
 import pokemon.runs.time.leaderboard.integration.client.PokeApiClient;
 import pokemon.runs.time.leaderboard.integration.dto.NumberToWordsRequest;
+import pokemon.runs.time.leaderboard.utils.NumberToWords;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class PokemonIntegrationService {
 
+    private static final Logger log = LoggerFactory.getLogger(PokemonIntegrationService.class);
+
     @Autowired
     private PokeApiClient pokeApiClient;
 
     @Autowired
     private NumberConversionSoapClient numberConversionSoapClient;
 
+    @Autowired
+    private IntegrationProperties integrationProperties;
+
     public PokemonIntegrationResponseDTO getPokemonSummary(String pokemonName) {
         var pokemon = pokeApiClient.fetchPokemon(pokemonName);
-        var numberInWords = numberConversionSoapClient.convert(new NumberToWordsRequest(pokemon.pokedexNumber()));
 
         return new PokemonIntegrationResponseDTO(
                 pokemon.name(),
                 pokemon.pokedexNumber(),
-                numberInWords.words(),
+                numberInWords(pokemon.pokedexNumber()),
                 pokemon.baseExperience(),
                 pokemon.types()
         );
     }
+
+    /**
+     * Busca varios pokemons de uma vez: nomes repetidos sao consultados uma vez so, cada nome roda em
+     * uma virtual thread e o que nao terminar dentro do prazo do lote volta como erro 504 no item.
+     */
+    public PokemonBatchResponseDTO getPokemonSummaries(List<String> names) {
+        Set<String> distinctNames = new LinkedHashSet<>();
+        for (String name : names) {
+            if (name != null && !name.isBlank()) {
+                distinctNames.add(name.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+
+        IntegrationProperties.Batch batch = integrationProperties.getBatch();
+        if (distinctNames.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um pokemon");
+        }
+        if (distinctNames.size() > batch.getMaxNames()) {
+            throw new IllegalArgumentException("Informe no maximo " + batch.getMaxNames() + " pokemons por consulta");
+        }
+
+        List<Callable<PokemonIntegrationResponseDTO>> lookups = new ArrayList<>(distinctNames.size());
+        for (String name : distinctNames) {
+            lookups.add(() -> getPokemonSummary(name));
+        }
+
+        List<Future<PokemonIntegrationResponseDTO>> futures;
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            futures = executor.invokeAll(lookups, batch.getDeadline().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta em lote interrompida", ex);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<PokemonBatchItemDTO> results = new ArrayList<>(futures.size());
+        boolean complete = true;
+        int index = 0;
+        for (String name : distinctNames) {
+            PokemonBatchItemDTO item = toBatchItem(name, futures.get(index++));
+            complete &= item.error() == null;
+            results.add(item);
+        }
+        return new PokemonBatchResponseDTO(results, complete);
+    }
+
+    private static PokemonBatchItemDTO toBatchItem(String name, Future<PokemonIntegrationResponseDTO> future) {
+        try {
+            return PokemonBatchItemDTO.success(name, future.get());
+        } catch (CancellationException ex) {
+            return PokemonBatchItemDTO.failure(name, HttpStatus.GATEWAY_TIMEOUT.value(), "Prazo da consulta em lote excedido");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return PokemonBatchItemDTO.failure(name, HttpStatus.GATEWAY_TIMEOUT.value(), "Consulta em lote interrompida");
+        } catch (ExecutionException ex) {
+            return switch (ex.getCause()) {
+                case NotFoundException notFound -> PokemonBatchItemDTO.failure(name, HttpStatus.NOT_FOUND.value(), notFound.getMessage());
+                case ExternalServiceException external -> PokemonBatchItemDTO.failure(name, external.getStatus().value(), external.getMessage());
+                default -> {
+                    log.warn("Falha inesperada ao consultar pokemon {} em lote", name, ex.getCause());
+                    yield PokemonBatchItemDTO.failure(name, HttpStatus.INTERNAL_SERVER_ERROR.value(), "Erro interno ao consultar pokemon");
+                }
+            };
+        }
+    }
+
+    private String numberInWords(long number) {
+        return switch (integrationProperties.getSoap().getNumberConversionMode()) {
+            case LOCAL -> NumberToWords.convert(number);
+            case VERIFY -> verifiedNumberInWords(number);
+            case FALLBACK -> number <= NumberToWords.TABLE_SIZE
+                    ? NumberToWords.convert(number)
+                    : numberConversionSoapClient.convert(new NumberToWordsRequest(number)).words();
+        };
+    }
+
+    private String verifiedNumberInWords(long number) {
+        String local = NumberToWords.convert(number);
+        String remote = numberConversionSoapClient.convert(new NumberToWordsRequest(number)).words();
+        if (!local.equals(remote)) {
+            log.warn("Conversao local de {} diverge do servico SOAP: '{}' != '{}'", number, local, remote);
+        }
+        return remote;
+    }
 }
@@ -0,0 +1,467 @@
+package pokemon.runs.time.leaderboard.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pokemon.runs.time.leaderboard.domain.run.RunChangedEvent;
+import pokemon.runs.time.leaderboard.domain.run.RunSnapshot;
+import pokemon.runs.time.leaderboard.domain.run.RunsCreatedEvent;
+import pokemon.runs.time.leaderboard.dto.runs.CursorPageDTO;
+import pokemon.runs.time.leaderboard.dto.runs.DetailsRunDTO;
+import pokemon.runs.time.leaderboard.dto.runs.RunRankDTO;
+import pokemon.runs.time.leaderboard.repository.run.LeaderboardEntryRepository;
+import pokemon.runs.time.leaderboard.utils.RunCursor;
+import pokemon.runs.time.leaderboard.utils.RunTimeParser;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * {@link RunRanking} em sorted sets do Redis, compartilhados entre as instancias: um ZSET por jogo
+ * e um global, com o id da run como membro, e um hash com o {@link DetailsRunDTO} de cada run em
+ * JSON. Paginas saem de ZRANGE/ZRANGEBYSCORE seguido de HMGET, sem SQL.
+ *
+ * <p>O score junta tempo e desempate em um numero so ({@code minutos * 2^40 + id}), exato no
+ * double enquanto o id couber em 40 bits, entao cursor e posicao viram buscas por score.
+ *
+ * <p>Durante uma reconstrucao (enquanto a trava existir), cada escrita tambem entra em um changelog,
+ * reaplicado nas chaves novas antes da troca.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+public class RedisRunRanking implements RunRanking {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisRunRanking.class);
+
+    static final String KEY_PREFIX = "leaderboard:ranking:";
+    private static final String REBUILD_PREFIX = KEY_PREFIX + "rebuild:";
+    private static final String GLOBAL = "all";
+    private static final String RUNS = "runs";
+    private static final String GAMES = "games";
+    private static final long ID_BITS = 40;
+    private static final int REBUILD_CHUNK = 500;
+    private static final String REBUILD_LOCK = REBUILD_PREFIX + "lock";
+    private static final String CHANGELOG = REBUILD_PREFIX + "changelog";
+    private static final Duration REBUILD_LOCK_TTL = Duration.ofMinutes(15);
+    private static final int MAX_SWAP_ATTEMPTS = 20;
+
+    /**
+     * Troca as chaves novas pelas atuais de uma vez so, e so se o changelog estiver vazio: uma escrita
+     * que chegue depois ja cai nas chaves novas. As chaves de cada jogo vem em KEYS (atual, nova) a partir
+     * de KEYS[9], lidas antes da chamada; se os conjuntos de jogos mudaram desde a leitura, devolve 0 como
+     * no changelog cheio. Devolve -1 se a trava expirou ou mudou de dono.
+     */
+    private static final RedisScript<Long> SWAP = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[2]) ~= ARGV[1] then return -1 end
+            if redis.call('LLEN', KEYS[1]) > 0 then return 0 end
+            if redis.call('SCARD', KEYS[3]) ~= tonumber(ARGV[2]) or redis.call('SCARD', KEYS[4]) ~= tonumber(ARGV[3]) then
+                return 0
+            end
+            for i = 9, #KEYS, 2 do
+                if redis.call('EXISTS', KEYS[i + 1]) == 1 then
+                    redis.call('RENAME', KEYS[i + 1], KEYS[i])
+                else
+                    redis.call('DEL', KEYS[i])
+                end
+            end
+            for i = 5, 7, 2 do
+                if redis.call('EXISTS', KEYS[i + 1]) == 1 then
+                    redis.call('RENAME', KEYS[i + 1], KEYS[i])
+                else
+                    redis.call('DEL', KEYS[i])
+                end
+            end
+            redis.call('RENAME', KEYS[4], KEYS[3])
+            redis.call('DEL', KEYS[1], KEYS[2])
+            return 1
+            """, Long.class);
+
+    /**
+     * Posicao, total e janela de vizinhos lidos de uma vez, para uma escrita concorrente nao deslocar
+     * a janela entre o ZRANK e o ZRANGE.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RANK = new DefaultRedisScript<>("""
+            local position = redis.call('ZRANK', KEYS[1], ARGV[1])
+            if not position then return {} end
+            local total = redis.call('ZCARD', KEYS[1])
+            local from = math.max(0, position - tonumber(ARGV[2]))
+            local ids = redis.call('ZRANGE', KEYS[1], from, position + tonumber(ARGV[2]))
+            return {position, total, redis.call('HMGET', KEYS[2], unpack(ids))}
+            """, List.class);
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end
+            return 0
+            """, Long.class);
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private LeaderboardEntryRepository leaderboardEntryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private volatile boolean ready;
+
+    /**
+     * O ranking fica no Redis, entao so a primeira instancia a subir (ou um Redis vazio) carrega do banco;
+     * instancias que sobem juntas disputam a trava de {@link #rebuild()}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfMissing() {
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + GAMES))) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Carrega tudo em chaves temporarias e troca com um script Lua, para as leituras nunca verem um
+     * ranking pela metade. Uma trava (SET NX) impede duas cargas ao mesmo tempo; escritas que chegam
+     * durante a carga vao para o changelog e sao reaplicadas antes da troca. Devolve -1, sem carregar,
+     * se outra instancia ja estiver reconstruindo.
+     */
+    @Override
+    @Transactional
+    public int rebuild() {
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(REBUILD_LOCK, token, REBUILD_LOCK_TTL))) {
+            log.info("Reconstrucao do ranking ja em andamento em outra instancia");
+            return -1;
+        }
+        boolean swapped = false;
+        try {
+            Set<String> games = new HashSet<>();
+            List<DetailsRunDTO> chunk = new ArrayList<>(REBUILD_CHUNK);
+            int count = 0;
+            // Eventos anteriores a trava ja estao no banco que vai ser lido
+            List<String> staleKeys = rebuildKeys(readGames(KEY_PREFIX + GAMES));
+            staleKeys.addAll(rebuildKeys(readGames(REBUILD_PREFIX + GAMES)));
+            staleKeys.add(CHANGELOG);
+            redisTemplate.delete(staleKeys);
+            try (Stream<DetailsRunDTO> runs = leaderboardEntryRepository.streamAllDetails()) {
+                Iterator<DetailsRunDTO> iterator = runs.iterator();
+                while (iterator.hasNext()) {
+                    DetailsRunDTO run = iterator.next();
+                    games.add(gameKey(run.game()));
+                    chunk.add(run);
+                    if (chunk.size() == REBUILD_CHUNK) {
+                        writeChunk(chunk);
+                        count += chunk.size();
+                        chunk.clear();
+                    }
+                }
+            }
+            writeChunk(chunk);
+            count += chunk.size();
+            if (games.isEmpty()) {
+                // Marca o ranking como carregado mesmo sem runs, para as proximas instancias nao recarregarem
+                redisTemplate.opsForSet().add(REBUILD_PREFIX + GAMES, "");
+            }
+
+            for (int attempt = 0; attempt < MAX_SWAP_ATTEMPTS && !swapped; attempt++) {
+                replayChangelog();
+                Set<String> liveGames = readGames(KEY_PREFIX + GAMES);
+                Set<String> rebuiltGames = readGames(REBUILD_PREFIX + GAMES);
+                Long result = redisTemplate.execute(SWAP, swapKeys(liveGames, rebuiltGames), token,
+                        String.valueOf(liveGames.size()), String.valueOf(rebuiltGames.size()));
+                if (result != null && result < 0) {
+                    throw new IllegalStateException("Trava da reconstrucao do ranking expirou antes da troca");
+                }
+                swapped = result != null && result == 1;
+            }
+            if (!swapped) {
+                throw new IllegalStateException("Changelog do ranking nao esvaziou apos " + MAX_SWAP_ATTEMPTS + " tentativas");
+            }
+            log.info("Ranking no Redis reconstruido com {} runs em {} jogos", count, games.size());
+            return count;
+        } finally {
+            if (!swapped) {
+                redisTemplate.execute(RELEASE, List.of(REBUILD_LOCK), token);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRunChanged(RunChangedEvent event) {
+        RunSnapshot previous = event.previous();
+        RunSnapshot current = event.current();
+        write(List.of(new RankingChange(
+                previous == null ? null : previous.id(),
+                previous == null ? null : previous.game(),
+                current == null ? 0 : current.runTimeMinutes(),
+                current == null ? null : current.toDetails())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRunsCreated(RunsCreatedEvent event) {
+        write(event.runs().stream()
+                .map(run -> new RankingChange(null, null, run.runTimeMinutes(), run.toDetails()))
+                .toList());
+    }
+
+    /**
+     * O conjunto de jogos so aparece na troca de uma carga completa; depois disso nao consulta mais o Redis.
+     */
+    @Override
+    public boolean isReady() {
+        if (!ready) {
+            ready = Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + GAMES));
+        }
+        return ready;
+    }
+
+    @Override
+    public Page<DetailsRunDTO> findPage(String game, Pageable pageable) {
+        String key = KEY_PREFIX + "game:" + gameKey(game);
+        Long total = redisTemplate.opsForZSet().zCard(key);
+        if (total == null || total == 0) {
+            return Page.empty(pageable);
+        }
+        long start = pageable.isPaged() ? pageable.getOffset() : 0;
+        long end = pageable.isPaged() ? start + pageable.getPageSize() - 1 : -1;
+        return new PageImpl<>(details(redisTemplate.opsForZSet().range(key, start, end)), pageable, total);
+    }
+
+    @Override
+    public CursorPageDTO<DetailsRunDTO> findAfter(String game, RunCursor after, int size) {
+        // Scores sao inteiros: o primeiro depois do cursor e score + 1
+        double min = score(after.sortValue(), after.id()) + 1;
+        Set<String> ids = redisTemplate.opsForZSet()
+                .rangeByScore(KEY_PREFIX + "game:" + gameKey(game), min, Double.POSITIVE_INFINITY, 0, size + 1);
+        List<DetailsRunDTO> runs = details(ids);
+        boolean hasNext = runs.size() > size;
+        List<DetailsRunDTO> page = hasNext ? List.copyOf(runs.subList(0, size)) : runs;
+        String nextCursor = null;
+        if (hasNext) {
+            DetailsRunDTO last = page.getLast();
+            nextCursor = new RunCursor(RunTimeParser.parse(last.runTime()).toMinutes(), last.id()).encode();
+        }
+        return new CursorPageDTO<>(page, size, nextCursor, hasNext);
+    }
+
+    @Override
+    public List<DetailsRunDTO> findTop(int limit) {
+        return details(redisTemplate.opsForZSet().range(KEY_PREFIX + GLOBAL, 0, limit - 1L));
+    }
+
+    @Override
+    public Optional<RunRankDTO> findRank(String game, long runTimeMinutes, long runId, int around) {
+        List<?> result = redisTemplate.execute(RANK, List.of(KEY_PREFIX + "game:" + gameKey(game), KEY_PREFIX + RUNS),
+                String.valueOf(runId), String.valueOf(around));
+        if (result == null || result.isEmpty()) {
+            return Optional.empty();
+        }
+        long position = (Long) result.get(0);
+        List<DetailsRunDTO> runs = new ArrayList<>();
+        int index = -1;
+        for (Object value : (List<?>) result.get(2)) {
+            // O hash e escrito antes e apagado depois do sorted set; o filtro so cobre dados de versoes antigas
+            if (value != null) {
+                DetailsRunDTO run = fromJson((String) value);
+                if (run.id() == runId) {
+                    index = runs.size();
+                }
+                runs.add(run);
+            }
+        }
+        if (index < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new RunRankDTO(position + 1, (Long) result.get(1), runs.get(index),
+                List.copyOf(runs.subList(0, index)), List.copyOf(runs.subList(index + 1, runs.size()))));
+    }
+
+    static double score(long runTimeMinutes, long runId) {
+        return (double) ((runTimeMinutes << ID_BITS) + runId);
+    }
+
+    /**
+     * O changelog vai antes das chaves atuais no pipeline: se a troca rodar entre os dois, ela ve o
+     * changelog cheio e espera; se rodar antes, a escrita ja cai nas chaves novas.
+     */
+    private void write(List<RankingChange> changes) {
+        boolean rebuilding = Boolean.TRUE.equals(redisTemplate.hasKey(REBUILD_LOCK));
+        List<String> entries = rebuilding ? changes.stream().map(this::toJson).toList() : List.of();
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                if (!entries.isEmpty()) {
+                    operations.opsForList().rightPushAll(CHANGELOG, entries);
+                }
+                for (RankingChange change : changes) {
+                    apply(operations, KEY_PREFIX, change);
+                }
+                return null;
+            }
+        });
+    }
+
+    private void replayChangelog() {
+        List<String> entries;
+        while ((entries = redisTemplate.opsForList().leftPop(CHANGELOG, REBUILD_CHUNK)) != null && !entries.isEmpty()) {
+            List<RankingChange> changes = entries.stream().map(this::changeFromJson).toList();
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    for (RankingChange change : changes) {
+                        apply(operations, REBUILD_PREFIX, change);
+                    }
+                    return null;
+                }
+            });
+        }
+    }
+
+    private void apply(RedisOperations<String, String> operations, String prefix, RankingChange change) {
+        if (change.removedId() != null) {
+            String member = String.valueOf(change.removedId());
+            operations.opsForZSet().remove(prefix + "game:" + gameKey(change.removedGame()), member);
+            operations.opsForZSet().remove(prefix + GLOBAL, member);
+            operations.opsForHash().delete(prefix + RUNS, member);
+        }
+        if (change.added() != null) {
+            add(operations, prefix, change.runTimeMinutes(), change.added());
+        }
+    }
+
+    private void writeChunk(List<DetailsRunDTO> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (DetailsRunDTO run : chunk) {
+                    add(operations, REBUILD_PREFIX, RunTimeParser.parse(run.runTime()).toMinutes(), run);
+                }
+                return null;
+            }
+        });
+    }
+
+    private void add(RedisOperations<String, String> operations, String prefix, long runTimeMinutes, DetailsRunDTO run) {
+        String member = String.valueOf(run.id());
+        double score = score(runTimeMinutes, run.id());
+        String game = gameKey(run.game());
+        // Detalhes antes do sorted set: quem le um membro pelo ZRANGE sempre encontra o JSON
+        operations.opsForHash().put(prefix + RUNS, member, toJson(run));
+        operations.opsForZSet().add(prefix + "game:" + game, member, score);
+        operations.opsForZSet().add(prefix + GLOBAL, member, score);
+        operations.opsForSet().add(prefix + GAMES, game);
+    }
+
+    private List<DetailsRunDTO> details(Collection<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        List<Object> values = redisTemplate.opsForHash().multiGet(KEY_PREFIX + RUNS, new ArrayList<>(ids));
+        List<DetailsRunDTO> runs = new ArrayList<>(values.size());
+        for (Object value : values) {
+            // Run removida entre o ZRANGE e o HMGET
+            if (value != null) {
+                runs.add(fromJson((String) value));
+            }
+        }
+        return runs;
+    }
+
+    private Set<String> readGames(String key) {
+        Set<String> games = redisTemplate.opsForSet().members(key);
+        return games == null ? Set.of() : games;
+    }
+
+    private static List<String> rebuildKeys(Set<String> games) {
+        List<String> keys = new ArrayList<>(List.of(REBUILD_PREFIX + GLOBAL, REBUILD_PREFIX + RUNS, REBUILD_PREFIX + GAMES));
+        for (String game : games) {
+            keys.add(REBUILD_PREFIX + "game:" + game);
+        }
+        return keys;
+    }
+
+    private static List<String> swapKeys(Set<String> liveGames, Set<String> rebuiltGames) {
+        List<String> keys = new ArrayList<>(List.of(CHANGELOG, REBUILD_LOCK, KEY_PREFIX + GAMES, REBUILD_PREFIX + GAMES,
+                KEY_PREFIX + GLOBAL, REBUILD_PREFIX + GLOBAL, KEY_PREFIX + RUNS, REBUILD_PREFIX + RUNS));
+        Set<String> games = new HashSet<>(liveGames);
+        games.addAll(rebuiltGames);
+        for (String game : games) {
+            keys.add(KEY_PREFIX + "game:" + game);
+            keys.add(REBUILD_PREFIX + "game:" + game);
+        }
+        return keys;
+    }
+
+    private String toJson(DetailsRunDTO run) {
+        try {
+            return objectMapper.writeValueAsString(run);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Falha ao serializar run " + run.id() + " para o ranking", ex);
+        }
+    }
+
+    private String toJson(RankingChange change) {
+        try {
+            return objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Falha ao serializar alteracao do ranking", ex);
+        }
+    }
+
+    private RankingChange changeFromJson(String json) {
+        try {
+            return objectMapper.readValue(json, RankingChange.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Falha ao ler alteracao do changelog do ranking", ex);
+        }
+    }
+
+    private DetailsRunDTO fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, DetailsRunDTO.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Falha ao ler run do ranking", ex);
+        }
+    }
+
+    private static String gameKey(String game) {
+        return game.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Uma escrita no ranking: remove a run anterior (se houver) e adiciona a atual (se houver).
+     */
+    record RankingChange(Long removedId, String removedGame, long runTimeMinutes, DetailsRunDTO added) {
+    }
+}
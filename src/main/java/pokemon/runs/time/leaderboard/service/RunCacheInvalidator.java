@@ -0,0 +1,87 @@
+package pokemon.runs.time.leaderboard.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pokemon.runs.time.leaderboard.domain.run.RunChangedEvent;
+import pokemon.runs.time.leaderboard.domain.run.RunSnapshot;
+import pokemon.runs.time.leaderboard.domain.run.RunsCreatedEvent;
+import pokemon.runs.time.leaderboard.infra.cache.CacheNamespaceVersions;
+
+import java.util.Objects;
+
+/**
+ * Invalida so o que uma escrita afeta, depois do commit. As paginas de {@code runs} e de cada jogo
+ * em {@code runsByGame} sao invalidadas incrementando a versao do namespace (que faz parte da chave);
+ * as estatisticas tem uma unica chave e sao removidas diretamente.
+ */
+@Component
+public class RunCacheInvalidator {
+
+    static final String RUNS_NAMESPACE = "runs";
+    static final String RUNS_BY_GAME_NAMESPACE = "runsByGame:";
+
+    @Autowired
+    private CacheNamespaceVersions cacheNamespaceVersions;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRunChanged(RunChangedEvent event) {
+        RunSnapshot previous = event.previous();
+        RunSnapshot current = event.current();
+
+        cacheNamespaceVersions.bump(RUNS_NAMESPACE);
+        String previousGame = previous == null ? null : gameNamespace(previous.game());
+        String currentGame = current == null ? null : gameNamespace(current.game());
+        if (previousGame != null) {
+            cacheNamespaceVersions.bump(previousGame);
+        }
+        if (currentGame != null && !currentGame.equals(previousGame)) {
+            cacheNamespaceVersions.bump(currentGame);
+        }
+
+        boolean membershipChanged = previous == null || current == null || !previous.game().equals(current.game());
+        if (membershipChanged) {
+            evict(RunService.RUNS_COUNT_BY_GAME_CACHE, "all");
+        }
+        if (membershipChanged || previous.runTimeMinutes() != current.runTimeMinutes()) {
+            evict(RunService.RUNS_AVG_TIME_BY_GAME_CACHE, "all");
+            evict(RunService.RUNS_PERCENTILES_BY_GAME_CACHE, "all");
+        }
+        if (previous == null || current == null || !Objects.equals(previous.pokemonTeam(), current.pokemonTeam())) {
+            evict(RunService.RUNS_TOP_POKEMONS_CACHE, "top10");
+        }
+    }
+
+    /**
+     * Um lote de criacoes invalida cada namespace e estatistica uma unica vez.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRunsCreated(RunsCreatedEvent event) {
+        cacheNamespaceVersions.bump(RUNS_NAMESPACE);
+        event.runs().stream()
+                .map(run -> gameNamespace(run.game()))
+                .distinct()
+                .forEach(cacheNamespaceVersions::bump);
+
+        evict(RunService.RUNS_COUNT_BY_GAME_CACHE, "all");
+        evict(RunService.RUNS_AVG_TIME_BY_GAME_CACHE, "all");
+        evict(RunService.RUNS_PERCENTILES_BY_GAME_CACHE, "all");
+        evict(RunService.RUNS_TOP_POKEMONS_CACHE, "top10");
+    }
+
+    private void evict(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private static String gameNamespace(String game) {
+        return RUNS_BY_GAME_NAMESPACE + game.toLowerCase();
+    }
+}
@@ -0,0 +1,60 @@
+package pokemon.runs.time.leaderboard.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import pokemon.runs.time.leaderboard.dto.runs.CursorPageDTO;
+import pokemon.runs.time.leaderboard.dto.runs.DetailsRunDTO;
+import pokemon.runs.time.leaderboard.dto.runs.RunRankDTO;
+import pokemon.runs.time.leaderboard.utils.RunCursor;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Ranking por jogo e global na ordem (runTime, id), mantido pelos eventos de escrita do
+ * {@link RunService} depois do commit e reconstruido de {@code leaderboard_entries} sob demanda.
+ * Em memoria por instancia por padrao; com {@code spring.cache.type=redis}, em sorted sets
+ * compartilhados entre as instancias.
+ */
+public interface RunRanking {
+
+    /**
+     * O ranking so conhece a propria ordem; outras ordenacoes continuam no banco.
+     */
+    default boolean supports(Sort sort) {
+        if (sort.isUnsorted()) {
+            return true;
+        }
+        return sort.equals(Sort.by("runTime")) || sort.equals(Sort.by("runTime", "id"));
+    }
+
+    /**
+     * Falso ate a primeira carga terminar; ate la as listagens leem do banco.
+     */
+    boolean isReady();
+
+    Page<DetailsRunDTO> findPage(String game, Pageable pageable);
+
+    /**
+     * Pagina por cursor: runs estritamente depois de {@code after} na ordem (runTime, id).
+     */
+    CursorPageDTO<DetailsRunDTO> findAfter(String game, RunCursor after, int size);
+
+    /**
+     * As {@code limit} runs mais rapidas entre todos os jogos.
+     */
+    List<DetailsRunDTO> findTop(int limit);
+
+    /**
+     * Posicao (base 1) da run no ranking do jogo e ate {@code around} vizinhos acima e abaixo,
+     * sem percorrer as posicoes anteriores; vazio se a run nao estiver no ranking.
+     */
+    Optional<RunRankDTO> findRank(String game, long runTimeMinutes, long runId, int around);
+
+    /**
+     * Descarta o ranking atual e recarrega todas as runs; devolve quantas foram carregadas, ou -1 se
+     * outra reconstrucao ja estiver em andamento.
+     */
+    int rebuild();
+}
@@ -1,6 +1,7 @@
 package pokemon.runs.time.leaderboard.service;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.FillPatternType;
@@ -10,57 +11,95 @@ import org.apache.poi.ss.usermodel.IndexedColors;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import pokemon.runs.time.leaderboard.domain.run.GameRunTimeBucket;
 import pokemon.runs.time.leaderboard.domain.run.Run;
+import pokemon.runs.time.leaderboard.domain.run.RunChangedEvent;
+import pokemon.runs.time.leaderboard.domain.run.RunSnapshot;
+import pokemon.runs.time.leaderboard.domain.run.RunsCreatedEvent;
+import pokemon.runs.time.leaderboard.dto.runs.CursorPageDTO;
 import pokemon.runs.time.leaderboard.dto.runs.DetailsRunDTO;
 import pokemon.runs.time.leaderboard.dto.runs.CreateRunDTO;
 import pokemon.runs.time.leaderboard.dto.runs.PatchRunDTO;
+import pokemon.runs.time.leaderboard.dto.runs.RunExportRow;
+import pokemon.runs.time.leaderboard.dto.runs.RunRankDTO;
+import pokemon.runs.time.leaderboard.dto.runs.RunTimePercentilesByGameDTO;
 import pokemon.runs.time.leaderboard.dto.runs.TopPokemonDTO;
+import pokemon.runs.time.leaderboard.dto.runs.UserGameStatsDTO;
+import pokemon.runs.time.leaderboard.dto.runs.UserStatsDTO;
 import pokemon.runs.time.leaderboard.dto.runs.RunsCountByGameDTO;
 import pokemon.runs.time.leaderboard.dto.runs.AvgRunTimeByGameDTO;
 import pokemon.runs.time.leaderboard.infra.errors.UnauthorizedException;
+import pokemon.runs.time.leaderboard.repository.run.GameRunTimeBucketRepository;
+import pokemon.runs.time.leaderboard.repository.run.GameStatsRepository;
+import pokemon.runs.time.leaderboard.repository.run.LeaderboardEntryRepository;
 import pokemon.runs.time.leaderboard.repository.run.RunRepository;
+import pokemon.runs.time.leaderboard.repository.run.UserGameStatsRepository;
 import pokemon.runs.time.leaderboard.domain.user.User;
+import pokemon.runs.time.leaderboard.utils.RunCursor;
+import pokemon.runs.time.leaderboard.utils.RunTimeHistogram;
 import pokemon.runs.time.leaderboard.utils.RunTimeParser;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import java.time.Duration;
 import java.time.format.DateTimeFormatter;
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
 @Service
 public class RunService {
-    private static final String RUNS_CACHE = "runs";
-    private static final String RUNS_BY_GAME_CACHE = "runsByGame";
-    private static final String RUNS_COUNT_BY_GAME_CACHE = "runsCountByGame";
-    private static final String RUNS_AVG_TIME_BY_GAME_CACHE = "runsAvgTimeByGame";
-    private static final String RUNS_TOP_POKEMONS_CACHE = "runsTopPokemons";
+    static final String RUNS_CACHE = "runs";
+    static final String RUNS_BY_GAME_CACHE = "runsByGame";
+    static final String RUNS_COUNT_BY_GAME_CACHE = "runsCountByGame";
+    static final String RUNS_AVG_TIME_BY_GAME_CACHE = "runsAvgTimeByGame";
+    static final String RUNS_PERCENTILES_BY_GAME_CACHE = "runsPercentilesByGame";
+    static final String RUNS_TOP_POKEMONS_CACHE = "runsTopPokemons";
+    private static final int TOP_POKEMONS_LIMIT = 10;
 
     @Autowired
     private RunRepository runRepository;
 
+    @Autowired
+    private LeaderboardEntryRepository leaderboardEntryRepository;
+
+    @Autowired
+    private GameStatsRepository gameStatsRepository;
+
+    @Autowired
+    private GameRunTimeBucketRepository gameRunTimeBucketRepository;
+
+    @Autowired
+    private UserGameStatsRepository userGameStatsRepository;
+
+    @Autowired
+    private RunRanking runRanking;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     private static final DateTimeFormatter EXCEL_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int EXCEL_ROW_WINDOW = 100;
+    private static final int EXCEL_WIDTH_SAMPLE_ROWS = 500;
+    private static final int EXCEL_MAX_COLUMN_CHARS = 80;
 
-    @Caching(evict = {
-            @CacheEvict(cacheNames = RUNS_CACHE, allEntries = true),
-            @CacheEvict(cacheNames = RUNS_BY_GAME_CACHE, allEntries = true),
-            @CacheEvict(cacheNames = RUNS_COUNT_BY_GAME_CACHE, allEntries = true),
-            @CacheEvict(cacheNames = RUNS_AVG_TIME_BY_GAME_CACHE, allEntries = true),
-            @CacheEvict(cacheNames = RUNS_TOP_POKEMONS_CACHE, allEntries = true)
-    })
+    @Transactional
     public Run createRun(CreateRunDTO data, User user) {
         Duration runTime = RunTimeParser.parse(data.runTime());
 
@@ -68,6 +107,31 @@ public class RunService {
             throw new IllegalArgumentException("Pokedex status deve ser no mínimo 1");
         }
 
+        Run saved = runRepository.save(newRun(data, runTime, user));
+        eventPublisher.publishEvent(RunChangedEvent.created(RunSnapshot.of(saved)));
+        return saved;
+    }
+
+    /**
+     * Cria todas as runs na mesma transacao. Os ids vem em blocos do sequence, entao os INSERTs
+     * saem em batch no flush; estatisticas, ranking e caches sao atualizados uma vez pelo lote.
+     */
+    @Transactional
+    public List<Run> createRuns(List<CreateRunDTO> data, User user) {
+        List<Run> runs = new ArrayList<>(data.size());
+        for (CreateRunDTO item : data) {
+            if (item.pokedexStatus() < 1) {
+                throw new IllegalArgumentException("Pokedex status deve ser no mínimo 1");
+            }
+            runs.add(newRun(item, RunTimeParser.parse(item.runTime()), user));
+        }
+
+        List<Run> saved = runRepository.saveAll(runs);
+        eventPublisher.publishEvent(new RunsCreatedEvent(saved.stream().map(RunSnapshot::of).toList()));
+        return saved;
+    }
+
+    private static Run newRun(CreateRunDTO data, Duration runTime, User user) {
         Run run = new Run();
         run.setGame(data.game());
         run.setRunTime(runTime);
@@ -75,25 +139,20 @@ public class RunService {
         run.setPokemonTeam(data.pokemonTeam());
         run.setObservation(data.observation());
         run.setUser(user);
-        return runRepository.save(run);
+        return run;
     }
 
-    @Cacheable(cacheNames = RUNS_CACHE, key = "#pageable.pageNumber + ':' + #pageable.pageSize + ':' + #pageable.sort")
+    // As chaves carregam a versao do namespace; ver RunCacheInvalidator
+    @Cacheable(cacheNames = RUNS_CACHE, key = "@cacheNamespaceVersions.current('runs') + ':' + #pageable.pageNumber + ':' + #pageable.pageSize + ':' + #pageable.sort")
     public Page<DetailsRunDTO> getAllRunsCached(Pageable pageable) {
-        return runRepository.findAll(pageable).map(DetailsRunDTO::new);
+        return leaderboardEntryRepository.findAllDetails(pageable);
     }
 
-    public Page<Run> getAllRuns(Pageable pageable) {
-        return runRepository.findAll(pageable);
+    public Page<DetailsRunDTO> getAllRuns(Pageable pageable) {
+        return leaderboardEntryRepository.findAllDetails(pageable);
     }
 
-    @Caching(evict = {
-            @CacheEvict(cacheNames = RUNS_CACHE, allEntries = true),
-            @CacheEvict(cacheNames = RUNS_BY_GAME_CACHE, allEntries = true),
-            @CacheEvict(cacheNames = RUNS_COUNT_BY_GAME_CACHE, allEntries = true),
-            @CacheEvict(cacheNames = RUNS_AVG_TIME_BY_GAME_CACHE, allEntries = true),
-            @CacheEvict(cacheNames = RUNS_TOP_POKEMONS_CACHE, allEntries = true)
-    })
+    @Transactional
     public Run updateRun(Long id, @Valid PatchRunDTO data, User user) {
         var run = runRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Run com id " + id + " não encontrada"));
@@ -103,6 +162,8 @@ public class RunService {
             throw new UnauthorizedException("Você não tem permissão para atualizar esta run");
         }
 
+        RunSnapshot previous = RunSnapshot.of(run);
+
         if (data.game() != null) {
             run.setGame(data.game());
         }
@@ -119,25 +180,21 @@ public class RunService {
             run.setObservation(data.observation());
         }
 
-        return runRepository.save(run);
+        Run saved = runRepository.save(run);
+        eventPublisher.publishEvent(RunChangedEvent.updated(previous, RunSnapshot.of(saved)));
+        return saved;
     }
 
-    @Cacheable(cacheNames = RUNS_BY_GAME_CACHE, key = "#game.toLowerCase() + ':' + #pageable.pageNumber + ':' + #pageable.pageSize + ':' + #pageable.sort")
+    @Cacheable(cacheNames = RUNS_BY_GAME_CACHE, key = "@cacheNamespaceVersions.current('runsByGame:' + #game.toLowerCase()) + ':' + #game.toLowerCase() + ':' + #pageable.pageNumber + ':' + #pageable.pageSize + ':' + #pageable.sort")
     public Page<DetailsRunDTO> findByGameCached(String game, Pageable pageable) {
-        return runRepository.findByGameIgnoreCase(game, pageable).map(DetailsRunDTO::new);
+        return leaderboardEntryRepository.findByGameIgnoreCase(game, pageable);
     }
 
-    public Page<Run> findByGame(String game, Pageable pageable) {
-        return runRepository.findByGameIgnoreCase(game, pageable);
+    public Page<DetailsRunDTO> findByGame(String game, Pageable pageable) {
+        return leaderboardEntryRepository.findByGameIgnoreCase(game, pageable);
     }
 
-    @Caching(evict = {
-            @CacheEvict(cacheNames = RUNS_CACHE, allEntries = true),
-            @CacheEvict(cacheNames = RUNS_BY_GAME_CACHE, allEntries = true),
-            @CacheEvict(cacheNames = RUNS_COUNT_BY_GAME_CACHE, allEntries = true),
-            @CacheEvict(cacheNames = RUNS_AVG_TIME_BY_GAME_CACHE, allEntries = true),
-            @CacheEvict(cacheNames = RUNS_TOP_POKEMONS_CACHE, allEntries = true)
-    })
+    @Transactional
     public void deleteRun(Long id, User user) {
         var run = runRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Run com id " + id + " não encontrada"));
@@ -147,7 +204,9 @@ public class RunService {
             throw new UnauthorizedException("Você não tem permissão para deletar esta run");
         }
 
+        RunSnapshot previous = RunSnapshot.of(run);
         runRepository.delete(run);
+        eventPublisher.publishEvent(RunChangedEvent.deleted(previous));
     }
 
     public Run findById(Long id) {
@@ -155,35 +214,123 @@ public class RunService {
                 .orElseThrow(() -> new EntityNotFoundException("Run com id " + id + " não encontrada"));
     }
 
-    public Page<Run> findFastestRuns(String maxTime, Pageable pageable) {
+    public DetailsRunDTO getRunDetails(Long id) {
+        return leaderboardEntryRepository.findDetailsById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Run com id " + id + " não encontrada"));
+    }
+
+    public RunRankDTO getRunRank(Long id, int around) {
+        return rankOf(getRunDetails(id), around);
+    }
+
+    /**
+     * Posicao da melhor run do usuario no jogo.
+     */
+    public RunRankDTO getMyRunRank(User user, String game, int around) {
+        List<DetailsRunDTO> best = leaderboardEntryRepository.findBestByUserAndGame(user.getId(), game, Limit.of(1));
+        if (best.isEmpty()) {
+            throw new EntityNotFoundException("Nenhuma run do usuário encontrada para o jogo " + game);
+        }
+        return rankOf(best.getFirst(), around);
+    }
+
+    private RunRankDTO rankOf(DetailsRunDTO run, int around) {
+        return runRanking.findRank(run.game(), RunTimeParser.parse(run.runTime()).toMinutes(), run.id(), around)
+                .orElseThrow(() -> new EntityNotFoundException("Run com id " + run.id() + " ainda não está no ranking"));
+    }
+
+    public Page<DetailsRunDTO> findFastestRuns(String maxTime, Pageable pageable) {
         Duration maxDuration = RunTimeParser.parse(maxTime);
-        return runRepository.findFastestRuns(maxDuration, pageable);
+        return leaderboardEntryRepository.findFastestRuns(maxDuration.toMinutes(), pageable);
+    }
+
+    public Page<DetailsRunDTO> findByMinPokedexStatus(int minStatus, Pageable pageable) {
+        return leaderboardEntryRepository.findByMinPokedexStatus(minStatus, pageable);
+    }
+
+    public CursorPageDTO<DetailsRunDTO> findAllRunsAfter(String after, int size) {
+        RunCursor cursor = RunCursor.decodeOrStart(after, RunCursor.RUN_TIME_START);
+        var runs = leaderboardEntryRepository.findAfterRunTime(cursor.sortValue(), cursor.id(), Limit.of(size + 1));
+        return toCursorPage(runs, size, RunService::runTimeCursor);
     }
 
-    public Page<Run> findByMinPokedexStatus(int minStatus, Pageable pageable) {
-        return runRepository.findByMinPokedexStatus(minStatus, pageable);
+    /**
+     * Mesma ordem do {@link RunRanking}, para quando ele ainda nao carregou.
+     */
+    public CursorPageDTO<DetailsRunDTO> findByGameAfter(String game, RunCursor cursor, int size) {
+        var runs = leaderboardEntryRepository.findByGameAfterRunTime(game, cursor.sortValue(), cursor.id(), Limit.of(size + 1));
+        return toCursorPage(runs, size, RunService::runTimeCursor);
     }
 
-    public Page<Run> findByPokemonInTeam(String pokemon, Pageable pageable) {
-        return runRepository.findByPokemonInTeam(pokemon.trim(), pageable);
+    public List<DetailsRunDTO> findTopRuns(int limit) {
+        return leaderboardEntryRepository.findAfterRunTime(RunCursor.RUN_TIME_START.sortValue(), RunCursor.RUN_TIME_START.id(), Limit.of(limit));
+    }
+
+    public CursorPageDTO<DetailsRunDTO> findFastestRunsAfter(String maxTime, String after, int size) {
+        Duration maxDuration = RunTimeParser.parse(maxTime);
+        RunCursor cursor = RunCursor.decodeOrStart(after, RunCursor.RUN_TIME_START);
+        var runs = leaderboardEntryRepository.findFastestRunsAfter(maxDuration.toMinutes(), cursor.sortValue(), cursor.id(), Limit.of(size + 1));
+        return toCursorPage(runs, size, RunService::runTimeCursor);
+    }
+
+    public CursorPageDTO<DetailsRunDTO> findByMinPokedexStatusAfter(int minStatus, String after, int size) {
+        RunCursor cursor = RunCursor.decodeOrStart(after, RunCursor.POKEDEX_STATUS_START);
+        var runs = leaderboardEntryRepository.findByMinPokedexStatusAfter(minStatus, (int) cursor.sortValue(), cursor.id(), Limit.of(size + 1));
+        return toCursorPage(runs, size, run -> new RunCursor(run.pokedexStatus(), run.id()));
+    }
+
+    private CursorPageDTO<DetailsRunDTO> toCursorPage(List<DetailsRunDTO> runs, int size, Function<DetailsRunDTO, RunCursor> cursorOf) {
+        boolean hasNext = runs.size() > size;
+        List<DetailsRunDTO> pageRuns = hasNext ? List.copyOf(runs.subList(0, size)) : runs;
+        String nextCursor = hasNext ? cursorOf.apply(pageRuns.getLast()).encode() : null;
+        return new CursorPageDTO<>(pageRuns, size, nextCursor, hasNext);
+    }
+
+    private static RunCursor runTimeCursor(DetailsRunDTO run) {
+        return new RunCursor(RunTimeParser.parse(run.runTime()).toMinutes(), run.id());
+    }
+
+    public Page<DetailsRunDTO> findByPokemonInTeam(String pokemon, Pageable pageable) {
+        return leaderboardEntryRepository.findByPokemonInTeam(pokemon.trim(), pageable);
     }
 
     @Cacheable(cacheNames = RUNS_COUNT_BY_GAME_CACHE, key = "'all'")
     public List<RunsCountByGameDTO> getRunsCountByGameCached() {
-        return runRepository.countRunsByGame();
+        return gameStatsRepository.countRunsByGame();
     }
 
     public List<RunsCountByGameDTO> getRunsCountByGame() {
-        return runRepository.countRunsByGame();
+        return gameStatsRepository.countRunsByGame();
     }
 
     @Cacheable(cacheNames = RUNS_AVG_TIME_BY_GAME_CACHE, key = "'all'")
     public List<AvgRunTimeByGameDTO> getAvgRunTimeByGameCached() {
-        return runRepository.avgRunTimeByGame();
+        return gameStatsRepository.avgRunTimeByGame();
     }
 
     public List<AvgRunTimeByGameDTO> getAvgRunTimeByGame() {
-        return runRepository.avgRunTimeByGame();
+        return gameStatsRepository.avgRunTimeByGame();
+    }
+
+    @Cacheable(cacheNames = RUNS_PERCENTILES_BY_GAME_CACHE, key = "'all'")
+    public List<RunTimePercentilesByGameDTO> getRunTimePercentilesByGameCached() {
+        return getRunTimePercentilesByGame();
+    }
+
+    /**
+     * Percentis lidos dos histogramas de game_run_time_buckets: no maximo algumas centenas de
+     * baldes por jogo, sem ordenar as runs.
+     */
+    public List<RunTimePercentilesByGameDTO> getRunTimePercentilesByGame() {
+        Map<String, RunTimeHistogram> histograms = new LinkedHashMap<>();
+        for (GameRunTimeBucket bucket : gameRunTimeBucketRepository.findAllOrdered()) {
+            histograms.computeIfAbsent(bucket.getGame(), game -> new RunTimeHistogram())
+                    .add(bucket.getBucketStart(), bucket.getRunCount());
+        }
+        List<RunTimePercentilesByGameDTO> percentiles = new ArrayList<>(histograms.size());
+        histograms.forEach((game, histogram) -> percentiles.add(new RunTimePercentilesByGameDTO(
+                game, histogram.totalCount(), histogram.valueAt(0.5), histogram.valueAt(0.9), histogram.valueAt(0.99))));
+        return percentiles;
     }
 
     @Cacheable(cacheNames = RUNS_TOP_POKEMONS_CACHE, key = "'top10'")
@@ -192,79 +339,86 @@ public class RunService {
     }
 
     public List<TopPokemonDTO> getTopPokemonsUsed() {
-        Map<String, Long> countsByPokemon = new LinkedHashMap<>();
-
-        for (Run run : runRepository.findAll()) {
-            if (run.getPokemonTeam() == null) {
-                continue;
-            }
-
-            for (String pokemon : run.getPokemonTeam()) {
-                if (pokemon == null) {
-                    continue;
-                }
-
-                String normalizedPokemon = pokemon.trim();
-                if (normalizedPokemon.isEmpty()) {
-                    continue;
-                }
+        return runRepository.findTopPokemons(Limit.of(TOP_POKEMONS_LIMIT));
+    }
 
-                countsByPokemon.merge(normalizedPokemon, 1L, Long::sum);
+    /**
+     * Escreve o CSV direto no stream de saida, percorrendo as runs por cursor do banco.
+     */
+    @Transactional
+    public void exportRunsToCsv(OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write("id,game,runTime,pokedexStatus,pokemonTeam,observation\n");
+        try (Stream<RunExportRow> rows = runRepository.streamAllForExport()) {
+            Iterator<RunExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                RunExportRow row = iterator.next();
+                writer.append(csvValue(row.id())).append(",")
+                      .append(csvValue(row.game())).append(",")
+                      .append(csvValue(RunTimeParser.format(row.runTime()))).append(",")
+                      .append(csvValue(row.pokedexStatus())).append(",")
+                      .append(csvValue(row.pokemonTeam() != null ? String.join("|", row.pokemonTeam()) : "")).append(",")
+                      .append(csvValue(row.observation()))
+                      .append("\n");
             }
         }
-
-        return countsByPokemon.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
-                        .thenComparing(entry -> entry.getKey().toLowerCase(Locale.ROOT)))
-                .limit(10)
-                .map(entry -> new TopPokemonDTO(entry.getKey(), entry.getValue()))
-                .toList();
-    }
-
-    public String exportRunsToCsv() {
-        List<Run> runs = runRepository.findAll();
-        StringBuilder sb = new StringBuilder();
-        sb.append("id,game,runTime,pokedexStatus,pokemonTeam,observation\n");
-        for (Run run : runs) {
-            sb.append(csvValue(run.getId())).append(",")
-              .append(csvValue(run.getGame())).append(",")
-              .append(csvValue(RunTimeParser.format(run.getRunTime()))).append(",")
-              .append(csvValue(run.getPokedexStatus())).append(",")
-              .append(csvValue(run.getPokemonTeam() != null ? String.join("|", run.getPokemonTeam()) : "")).append(",")
-              .append(csvValue(run.getObservation()))
-              .append("\n");
-        }
-        return sb.toString();
+        writer.flush();
     }
 
-    public byte[] exportRunsToExcel() {
-        List<Run> runs = runRepository.findAll();
-
-        try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+    /**
+     * Gera o Excel em streaming: o SXSSF mantem so uma janela de linhas em memoria e descarrega
+     * o resto em arquivo temporario. A largura das colunas vem das primeiras linhas, ja que
+     * autoSizeColumn precisaria de todas.
+     */
+    @Transactional
+    public void exportRunsToExcel(OutputStream outputStream) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try (workbook; Stream<RunExportRow> rows = runRepository.streamAllForExport()) {
             Sheet sheet = workbook.createSheet("Leaderboard");
 
             String[] headers = {"Jogador", "Jogo", "Tempo", "Pokedex", "Time", "Data de criacao"};
             createHeaderRow(sheet, headers, workbook);
 
+            int[] columnWidths = new int[headers.length];
+            for (int column = 0; column < headers.length; column++) {
+                columnWidths[column] = headers[column].length();
+            }
+
             int rowIndex = 1;
-            for (Run run : runs) {
-                Row row = sheet.createRow(rowIndex++);
-                row.createCell(0).setCellValue(run.getUser().getUsername());
-                row.createCell(1).setCellValue(run.getGame());
-                row.createCell(2).setCellValue(RunTimeParser.format(run.getRunTime()));
-                row.createCell(3).setCellValue(run.getPokedexStatus());
-                row.createCell(4).setCellValue(run.getPokemonTeam() == null ? "" : String.join(", ", run.getPokemonTeam()));
-                row.createCell(5).setCellValue(run.getCreatedAt() == null ? "" : EXCEL_DATE_FORMAT.format(run.getCreatedAt()));
+            Iterator<RunExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                RunExportRow run = iterator.next();
+                String runTime = RunTimeParser.format(run.runTime());
+                String team = run.pokemonTeam() == null ? "" : String.join(", ", run.pokemonTeam());
+                String createdAt = run.createdAt() == null ? "" : EXCEL_DATE_FORMAT.format(run.createdAt());
+
+                Row row = sheet.createRow(rowIndex);
+                row.createCell(0).setCellValue(run.username());
+                row.createCell(1).setCellValue(run.game());
+                row.createCell(2).setCellValue(runTime);
+                row.createCell(3).setCellValue(run.pokedexStatus());
+                row.createCell(4).setCellValue(team);
+                row.createCell(5).setCellValue(createdAt);
+
+                if (rowIndex <= EXCEL_WIDTH_SAMPLE_ROWS) {
+                    sampleColumnWidths(columnWidths, run.username(), run.game(), runTime,
+                            String.valueOf(run.pokedexStatus()), team, createdAt);
+                }
+                rowIndex++;
             }
 
             for (int column = 0; column < headers.length; column++) {
-                sheet.autoSizeColumn(column);
+                sheet.setColumnWidth(column, Math.min(columnWidths[column] + 2, EXCEL_MAX_COLUMN_CHARS) * 256);
             }
 
             workbook.write(outputStream);
-            return outputStream.toByteArray();
-        } catch (IOException ex) {
-            throw new IllegalStateException("Falha ao gerar arquivo Excel", ex);
+        }
+    }
+
+    private static void sampleColumnWidths(int[] columnWidths, String... values) {
+        for (int column = 0; column < values.length; column++) {
+            columnWidths[column] = Math.max(columnWidths[column], values[column].length());
         }
     }
 
@@ -297,8 +451,17 @@ public class RunService {
         return text;
     }
 
-    public Page<Run> getAllMyRuns(User user, Pageable pageable) {
+    public Page<DetailsRunDTO> getAllMyRuns(User user, Pageable pageable) {
         var userId = user.getId();
-        return runRepository.findByUserId(userId, pageable);
+        return leaderboardEntryRepository.findByUserId(userId, pageable);
+    }
+
+    /**
+     * Recordes e totais por jogo lidos de user_game_stats: uma linha por jogo, independente de quantas runs o usuario tem.
+     */
+    public UserStatsDTO getMyStats(User user) {
+        List<UserGameStatsDTO> games = userGameStatsRepository.findByUserId(user.getId());
+        long runCount = games.stream().mapToLong(UserGameStatsDTO::runCount).sum();
+        return new UserStatsDTO(runCount, games);
     }
 }
@@ -0,0 +1,93 @@
+package pokemon.runs.time.leaderboard.service;
+
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import pokemon.runs.time.leaderboard.domain.run.RunChangedEvent;
+import pokemon.runs.time.leaderboard.domain.run.RunSnapshot;
+import pokemon.runs.time.leaderboard.domain.run.RunsCreatedEvent;
+import pokemon.runs.time.leaderboard.repository.run.UserGameStatsRepository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Mantem a tabela user_game_stats na mesma transacao das escritas do {@link RunService}, para que
+ * {@code /runs/me/stats} leia uma linha por jogo do usuario em vez de agrupar as runs dele.
+ */
+@Component
+public class UserGameStatsUpdater {
+
+    private static final Logger log = LoggerFactory.getLogger(UserGameStatsUpdater.class);
+
+    private static final Comparator<RunSnapshot> BEST_FIRST = Comparator
+            .comparingLong(RunSnapshot::runTimeMinutes)
+            .thenComparing(RunSnapshot::id);
+
+    @Autowired
+    private UserGameStatsRepository userGameStatsRepository;
+
+    @EventListener
+    public void onRunChanged(RunChangedEvent event) {
+        RunSnapshot previous = event.previous();
+        RunSnapshot current = event.current();
+        if (previous != null && current != null
+                && previous.game().equals(current.game())
+                && previous.runTimeMinutes() == current.runTimeMinutes()) {
+            return;
+        }
+
+        if (previous != null) {
+            removeRun(previous);
+        }
+        if (current != null) {
+            addRuns(current.userId(), current.game(), List.of(current));
+        }
+    }
+
+    /**
+     * Um upsert por usuario e jogo do lote, em ordem de usuario e jogo para que lotes concorrentes
+     * travem as linhas na mesma ordem.
+     */
+    @EventListener
+    public void onRunsCreated(RunsCreatedEvent event) {
+        Map<Long, Map<String, List<RunSnapshot>>> byUserAndGame = event.runs().stream()
+                .collect(Collectors.groupingBy(RunSnapshot::userId, TreeMap::new,
+                        Collectors.groupingBy(RunSnapshot::game, TreeMap::new, Collectors.toList())));
+        byUserAndGame.forEach((userId, byGame) -> byGame.forEach((game, runs) -> addRuns(userId, game, runs)));
+    }
+
+    /**
+     * Recalcula tudo a partir de runs, para corrigir divergencias ou popular a tabela depois de
+     * cargas feitas fora do {@link RunService}.
+     */
+    @Transactional
+    public int rebuild() {
+        userGameStatsRepository.deleteAllRows();
+        int rows = userGameStatsRepository.insertFromRuns();
+        userGameStatsRepository.fixBestRunIds();
+        log.info("Estatisticas por usuario reconstruidas com {} linhas", rows);
+        return rows;
+    }
+
+    private void addRuns(Long userId, String game, List<RunSnapshot> runs) {
+        long totalRunTime = runs.stream().mapToLong(RunSnapshot::runTimeMinutes).sum();
+        RunSnapshot best = runs.stream().min(BEST_FIRST).orElseThrow();
+        userGameStatsRepository.upsertRuns(userId, game, runs.size(), totalRunTime, best.runTimeMinutes(), best.id());
+    }
+
+    private void removeRun(RunSnapshot run) {
+        if (userGameStatsRepository.removeRun(run.userId(), run.game(), run.runTimeMinutes()) == 0) {
+            return;
+        }
+        if (userGameStatsRepository.deleteIfEmpty(run.userId(), run.game()) == 0) {
+            userGameStatsRepository.recomputeBest(run.userId(), run.game(), run.id());
+        }
+    }
+}
@@ -14,6 +14,6 @@ public class DurationConverter implements AttributeConverter<Duration, Long> {
 
     @Override
     public Duration convertToEntityAttribute(Long minutes) {
-        return minutes == null ? null : Duration.ofMinutes(minutes);
+        return minutes == null ? null : RunTimeParser.ofMinutes(minutes);
     }
 }
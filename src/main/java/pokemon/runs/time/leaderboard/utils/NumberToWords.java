@@ -0,0 +1,82 @@
+package pokemon.runs.time.leaderboard.utils;
+
+/**
+ * Numero por extenso em ingles no mesmo formato do servico NumberConversion da dataaccess.com
+ * (minusculas, sem hifen, "and" depois das centenas), ja sem o espaco final da resposta SOAP.
+ * Os valores de 1 a {@value #TABLE_SIZE} ficam numa tabela montada na carga da classe.
+ */
+public final class NumberToWords {
+
+    public static final int TABLE_SIZE = 2000;
+
+    private static final String[] UNITS = {
+            "zero", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine", "ten",
+            "eleven", "twelve", "thirteen", "fourteen", "fifteen", "sixteen", "seventeen", "eighteen", "nineteen"
+    };
+    private static final String[] TENS = {
+            "", "", "twenty", "thirty", "forty", "fifty", "sixty", "seventy", "eighty", "ninety"
+    };
+    private static final String[] SCALES = {
+            "", "thousand", "million", "billion", "trillion", "quadrillion", "quintillion"
+    };
+    private static final String[] TABLE = new String[TABLE_SIZE + 1];
+
+    static {
+        for (int number = 0; number <= TABLE_SIZE; number++) {
+            TABLE[number] = spell(number);
+        }
+    }
+
+    private NumberToWords() {
+    }
+
+    public static String convert(long number) {
+        if (number < 0) {
+            throw new IllegalArgumentException("Numero deve ser maior ou igual a zero");
+        }
+        return number <= TABLE_SIZE ? TABLE[(int) number] : spell(number);
+    }
+
+    private static String spell(long number) {
+        if (number == 0) {
+            return UNITS[0];
+        }
+
+        StringBuilder words = new StringBuilder();
+        long divisor = 1_000_000_000_000_000_000L;
+        for (int scale = SCALES.length - 1; scale >= 0; scale--, divisor /= 1000) {
+            int group = (int) (number / divisor % 1000);
+            if (group == 0) {
+                continue;
+            }
+            if (!words.isEmpty()) {
+                words.append(' ');
+            }
+            appendGroup(words, group);
+            if (scale > 0) {
+                words.append(' ').append(SCALES[scale]);
+            }
+        }
+        return words.toString();
+    }
+
+    private static void appendGroup(StringBuilder words, int group) {
+        int hundreds = group / 100;
+        int rest = group % 100;
+        if (hundreds > 0) {
+            words.append(UNITS[hundreds]).append(" hundred");
+            if (rest == 0) {
+                return;
+            }
+            words.append(" and ");
+        }
+        if (rest < 20) {
+            words.append(UNITS[rest]);
+        } else {
+            words.append(TENS[rest / 10]);
+            if (rest % 10 != 0) {
+                words.append(' ').append(UNITS[rest % 10]);
+            }
+        }
+    }
+}
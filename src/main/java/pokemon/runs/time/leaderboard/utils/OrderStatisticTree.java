@@ -0,0 +1,191 @@
+package pokemon.runs.time.leaderboard.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Treap ordenado por chave em que cada no guarda o tamanho da sua subarvore.
+ * Isso permite localizar a posicao de uma chave e recortar uma faixa por offset em
+ * O(log n + tamanho da faixa). Nao e thread-safe; o chamador controla o acesso.
+ */
+public class OrderStatisticTree<K extends Comparable<K>, V> {
+
+    private Node<K, V> root;
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public V get(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            int cmp = key.compareTo(node.key);
+            if (cmp == 0) {
+                return node.value;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    public void put(K key, V value) {
+        Node<K, V> existing = find(key);
+        if (existing != null) {
+            existing.value = value;
+            return;
+        }
+
+        Node<K, V>[] parts = split(root, key);
+        root = merge(merge(parts[0], new Node<>(key, value)), parts[1]);
+    }
+
+    public boolean remove(K key) {
+        if (find(key) == null) {
+            return false;
+        }
+        root = remove(root, key);
+        return true;
+    }
+
+    /**
+     * Quantidade de chaves estritamente menores que {@code key}, ou seja, a posicao
+     * (base zero) que a chave ocupa ou ocuparia na ordem.
+     */
+    public int countLessThan(K key) {
+        int count = 0;
+        Node<K, V> node = root;
+        while (node != null) {
+            if (key.compareTo(node.key) <= 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Valores nas posicoes {@code [offset, offset + limit)} em ordem crescente de chave.
+     */
+    public List<V> slice(long offset, int limit) {
+        List<V> values = new ArrayList<>(Math.max(0, Math.min(limit, size())));
+        if (offset < 0 || limit <= 0 || offset >= size()) {
+            return values;
+        }
+        collect(root, (int) offset, limit, values);
+        return values;
+    }
+
+    private void collect(Node<K, V> node, int offset, int limit, List<V> out) {
+        if (node == null || out.size() >= limit) {
+            return;
+        }
+
+        int leftSize = size(node.left);
+        if (offset < leftSize) {
+            collect(node.left, offset, limit, out);
+        }
+        if (offset <= leftSize && out.size() < limit) {
+            out.add(node.value);
+        }
+        if (out.size() < limit) {
+            collect(node.right, Math.max(0, offset - leftSize - 1), limit, out);
+        }
+    }
+
+    private Node<K, V> find(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            int cmp = key.compareTo(node.key);
+            if (cmp == 0) {
+                return node;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    private Node<K, V> remove(Node<K, V> node, K key) {
+        int cmp = key.compareTo(node.key);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+
+        if (cmp < 0) {
+            node.left = remove(node.left, key);
+        } else {
+            node.right = remove(node.right, key);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Divide a arvore em chaves menores que {@code key} e chaves maiores ou iguais.
+     */
+    @SuppressWarnings("unchecked")
+    private Node<K, V>[] split(Node<K, V> node, K key) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+
+        if (node.key.compareTo(key) < 0) {
+            Node<K, V>[] parts = split(node.right, key);
+            node.right = parts[0];
+            node.update();
+            return new Node[]{node, parts[1]};
+        }
+
+        Node<K, V>[] parts = split(node.left, key);
+        node.left = parts[1];
+        node.update();
+        return new Node[]{parts[0], node};
+    }
+
+    private Node<K, V> merge(Node<K, V> left, Node<K, V> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static int size(Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private V value;
+        private int size = 1;
+        private Node<K, V> left;
+        private Node<K, V> right;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        private void update() {
+            size = 1 + size(left) + size(right);
+        }
+    }
+}
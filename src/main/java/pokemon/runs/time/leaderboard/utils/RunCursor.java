@@ -0,0 +1,41 @@
+package pokemon.runs.time.leaderboard.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posicao opaca da paginacao por cursor: o valor da coluna de ordenacao e o id da
+ * ultima run entregue. Trafega como Base64 URL-safe no parametro {@code after}.
+ */
+public record RunCursor(long sortValue, long id) {
+
+    public static final RunCursor RUN_TIME_START = new RunCursor(-1, -1);
+    public static final RunCursor POKEDEX_STATUS_START = new RunCursor(Integer.MAX_VALUE, Long.MAX_VALUE);
+
+    private static final String INVALID_CURSOR = "Cursor de paginação inválido";
+
+    public String encode() {
+        String raw = sortValue + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica o cursor recebido; vazio significa primeira pagina e devolve {@code start}.
+     */
+    public static RunCursor decodeOrStart(String token, RunCursor start) {
+        if (token == null || token.isBlank()) {
+            return start;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException(INVALID_CURSOR);
+            }
+            return new RunCursor(Long.parseLong(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(INVALID_CURSOR, ex);
+        }
+    }
+}
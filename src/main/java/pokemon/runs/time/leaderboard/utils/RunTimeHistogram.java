@@ -0,0 +1,84 @@
+package pokemon.runs.time.leaderboard.utils;
+
+import java.util.Arrays;
+
+/**
+ * Histograma de tempos de run em minutos no esquema log-linear do HdrHistogram: valores abaixo de
+ * {@value #EXACT_LIMIT} tem um balde por minuto e, a partir dai, cada potencia de 2 e dividida em
+ * {@value #SUB_BUCKETS} baldes. Um jogo ocupa no maximo algumas centenas de baldes, qualquer que
+ * seja o numero de runs, e os percentis sao devolvidos pelo meio do balde, com erro relativo de
+ * no maximo 1/64 (~1,6%). Histogramas de baldes iguais se somam, entao lotes e jogos se combinam
+ * somando contagens.
+ */
+public final class RunTimeHistogram {
+
+    static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final long EXACT_LIMIT = 2L * SUB_BUCKETS;
+
+    private long[] bucketStarts = new long[16];
+    private long[] counts = new long[16];
+    private int size;
+    private long totalCount;
+
+    /**
+     * Inicio do balde que contem {@code minutes}; e a chave persistida em game_run_time_buckets.
+     */
+    public static long bucketStart(long minutes) {
+        if (minutes < 0) {
+            throw new IllegalArgumentException("Tempo deve ser maior ou igual a zero");
+        }
+        if (minutes < EXACT_LIMIT) {
+            return minutes;
+        }
+        int shift = shift(minutes);
+        return (minutes >> shift) << shift;
+    }
+
+    public static long bucketWidth(long bucketStart) {
+        return bucketStart < EXACT_LIMIT ? 1 : 1L << shift(bucketStart);
+    }
+
+    private static int shift(long value) {
+        return 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    }
+
+    /**
+     * Acrescenta um balde; os baldes devem chegar em ordem crescente, como saem do banco.
+     */
+    public void add(long bucketStart, long count) {
+        if (size > 0 && bucketStart <= bucketStarts[size - 1]) {
+            throw new IllegalArgumentException("Baldes devem ser adicionados em ordem crescente");
+        }
+        if (size == bucketStarts.length) {
+            bucketStarts = Arrays.copyOf(bucketStarts, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+        }
+        bucketStarts[size] = bucketStart;
+        counts[size] = count;
+        size++;
+        totalCount += count;
+    }
+
+    public long totalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Percentil pelo criterio nearest-rank ({@code quantile} entre 0 e 1), no meio do balde que o contem.
+     */
+    public long valueAt(double quantile) {
+        if (totalCount == 0) {
+            throw new IllegalStateException("Histograma vazio");
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * totalCount));
+        long seen = 0;
+        for (int i = 0; i < size; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bucketStarts[i] + (bucketWidth(bucketStarts[i]) - 1) / 2;
+            }
+        }
+        return bucketStarts[size - 1] + (bucketWidth(bucketStarts[size - 1]) - 1) / 2;
+    }
+}
@@ -2,26 +2,76 @@ package pokemon.runs.time.leaderboard.utils;
 
 import java.time.Duration;
 
+/**
+ * Conversao entre o texto {@code HH:MM} e {@link Duration}. Todo tempo valido cabe em
+ * {@code 00:00..99:59}, entao as duracoes e os textos dessa faixa ficam em tabelas montadas na
+ * carga da classe: parse, format e {@link DurationConverter} nao alocam nada no caminho comum.
+ */
 public final class RunTimeParser {
 
-    private static final String RUN_TIME_PATTERN = "\\d{1,2}:[0-5]\\d";
+    static final int MAX_MINUTES = 99 * 60 + 59;
+
+    private static final String INVALID_FORMAT = "Run time deve estar no formato HH:MM, com minutos entre 00 e 59";
+    private static final Duration[] DURATIONS = new Duration[MAX_MINUTES + 1];
+    private static final String[] FORMATTED = new String[MAX_MINUTES + 1];
+
+    static {
+        for (int minutes = 0; minutes <= MAX_MINUTES; minutes++) {
+            DURATIONS[minutes] = Duration.ofMinutes(minutes);
+            FORMATTED[minutes] = String.format("%02d:%02d", minutes / 60, minutes % 60);
+        }
+    }
 
     private RunTimeParser() {
     }
 
+    /**
+     * Equivale a validar com {@code \d{1,2}:[0-5]\d} e somar horas e minutos, sem regex nem split.
+     */
     public static Duration parse(String value) {
-        if (value == null || !value.matches(RUN_TIME_PATTERN)) {
-            throw new IllegalArgumentException("Run time deve estar no formato HH:MM, com minutos entre 00 e 59");
+        if (value == null) {
+            throw new IllegalArgumentException(INVALID_FORMAT);
         }
 
-        String[] parts = value.split(":");
-        int hours = Integer.parseInt(parts[0]);
-        int minutes = Integer.parseInt(parts[1]);
-        return Duration.ofHours(hours).plusMinutes(minutes);
+        int length = value.length();
+        int separator = length - 3;
+        if ((length != 4 && length != 5) || value.charAt(separator) != ':') {
+            throw new IllegalArgumentException(INVALID_FORMAT);
+        }
+
+        int hours = digit(value.charAt(0));
+        if (separator == 2) {
+            hours = hours * 10 + digit(value.charAt(1));
+        }
+        int tens = digit(value.charAt(separator + 1));
+        if (tens > 5) {
+            throw new IllegalArgumentException(INVALID_FORMAT);
+        }
+        return DURATIONS[hours * 60 + tens * 10 + digit(value.charAt(separator + 2))];
     }
 
     public static String format(Duration duration) {
         if (duration == null) return "00:00";
-        return String.format("%02d:%02d", duration.toHours(), duration.toMinutesPart());
+
+        long hours = duration.toHours();
+        int minutes = duration.toMinutesPart();
+        if (hours >= 0 && hours <= 99 && minutes >= 0) {
+            return FORMATTED[(int) hours * 60 + minutes];
+        }
+        return String.format("%02d:%02d", hours, minutes);
+    }
+
+    /**
+     * Mesma duracao de {@link Duration#ofMinutes(long)}, reaproveitando a instancia da tabela.
+     */
+    public static Duration ofMinutes(long minutes) {
+        return minutes >= 0 && minutes <= MAX_MINUTES ? DURATIONS[(int) minutes] : Duration.ofMinutes(minutes);
+    }
+
+    private static int digit(char value) {
+        if (value < '0' || value > '9') {
+            throw new IllegalArgumentException(INVALID_FORMAT);
+        }
+        return value - '0';
     }
 }
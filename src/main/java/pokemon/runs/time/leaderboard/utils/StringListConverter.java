@@ -3,36 +3,78 @@ package pokemon.runs.time.leaderboard.utils;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Time separado por virgula, sem espacos nas pontas e sem itens vazios. Os dois sentidos
+ * percorrem o texto uma vez, sem stream nem split, e so alocam o resultado.
+ */
 @Converter
 public class StringListConverter implements AttributeConverter<List<String>, String> {
 
+    private static final char SEPARATOR = ',';
+
     @Override
     public String convertToDatabaseColumn(List<String> list) {
         if (list == null || list.isEmpty()) {
             return null;
         }
 
-        List<String> normalizedValues = list.stream()
-                .filter(value -> value != null)
-                .map(String::trim)
-                .filter(value -> !value.isEmpty())
-                .toList();
+        StringBuilder joined = null;
+        for (String value : list) {
+            if (value == null) {
+                continue;
+            }
+            int start = trimStart(value, 0, value.length());
+            int end = trimEnd(value, start, value.length());
+            if (start == end) {
+                continue;
+            }
+            if (joined == null) {
+                joined = new StringBuilder(list.size() * 12);
+            } else {
+                joined.append(SEPARATOR);
+            }
+            joined.append(value, start, end);
+        }
 
-        return normalizedValues.isEmpty() ? null : String.join(",", normalizedValues);
+        return joined == null ? null : joined.toString();
     }
 
     @Override
     public List<String> convertToEntityAttribute(String joined) {
-        if (joined == null || joined.trim().isEmpty()) {
-            return new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        if (joined == null) {
+            return values;
         }
 
-        return new ArrayList<>(Arrays.stream(joined.split(","))
-                .map(String::trim)
-                .filter(value -> !value.isEmpty())
-                .toList());
+        int length = joined.length();
+        int segmentStart = 0;
+        while (segmentStart <= length) {
+            int separator = joined.indexOf(SEPARATOR, segmentStart);
+            int segmentEnd = separator < 0 ? length : separator;
+            int start = trimStart(joined, segmentStart, segmentEnd);
+            int end = trimEnd(joined, start, segmentEnd);
+            if (start < end) {
+                values.add(joined.substring(start, end));
+            }
+            segmentStart = segmentEnd + 1;
+        }
+        return values;
+    }
+
+    // Mesmo criterio de String.trim(): descarta caracteres ate o espaco (U+0020)
+    private static int trimStart(String value, int start, int end) {
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(String value, int start, int end) {
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
     }
 }
@@ -0,0 +1,8 @@
+-- Sem sequences no MySQL o Hibernate emula runs_seq com uma tabela de uma linha (next_val),
+-- reservando blocos de 50 ids. O valor lido e o topo do bloco, entao comeca 50 acima do maior id.
+CREATE TABLE runs_seq (
+    next_val BIGINT
+);
+
+INSERT INTO runs_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 50 FROM runs;
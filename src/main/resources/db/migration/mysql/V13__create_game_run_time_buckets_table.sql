@@ -0,0 +1,26 @@
+CREATE TABLE game_run_time_buckets (
+    game VARCHAR(100) NOT NULL,
+    bucket_start BIGINT NOT NULL,
+    run_count BIGINT NOT NULL,
+    PRIMARY KEY (game, bucket_start)
+);
+
+-- Mesmos baldes de RunTimeHistogram.bucketStart: um por minuto abaixo de 64 e 32 por potencia de 2
+-- acima (run_time vai ate 99:59, abaixo de 8192 minutos).
+INSERT INTO game_run_time_buckets (game, bucket_start, run_count)
+SELECT game, bucket_start, COUNT(*)
+FROM (
+    SELECT game,
+           CASE
+               WHEN run_time < 64 THEN run_time
+               WHEN run_time < 128 THEN run_time - MOD(run_time, 2)
+               WHEN run_time < 256 THEN run_time - MOD(run_time, 4)
+               WHEN run_time < 512 THEN run_time - MOD(run_time, 8)
+               WHEN run_time < 1024 THEN run_time - MOD(run_time, 16)
+               WHEN run_time < 2048 THEN run_time - MOD(run_time, 32)
+               WHEN run_time < 4096 THEN run_time - MOD(run_time, 64)
+               ELSE run_time - MOD(run_time, 128)
+           END AS bucket_start
+    FROM runs
+) bucketed
+GROUP BY game, bucket_start;
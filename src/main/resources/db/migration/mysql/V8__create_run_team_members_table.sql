@@ -0,0 +1,35 @@
+CREATE TABLE run_team_members (
+    run_id BIGINT NOT NULL,
+    slot INTEGER NOT NULL,
+    pokemon VARCHAR(255) NOT NULL,
+    pokemon_key VARCHAR(255) NOT NULL,
+    PRIMARY KEY (run_id, slot),
+    CONSTRAINT fk_run_team_members_run_id FOREIGN KEY (run_id) REFERENCES runs(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_run_team_members_pokemon_key ON run_team_members(pokemon_key, run_id);
+
+-- Backfill a partir da coluna pokemon_team (valores separados por virgula pelo StringListConverter).
+-- A CTE recursiva tira um membro por nivel, sem limite fixo de posicoes para dados antigos.
+INSERT INTO run_team_members (run_id, slot, pokemon, pokemon_key)
+WITH RECURSIVE member (run_id, position, pokemon, rest) AS (
+    SELECT r.id,
+           1,
+           TRIM(SUBSTRING_INDEX(r.pokemon_team, ',', 1)),
+           IF(LOCATE(',', r.pokemon_team) > 0, SUBSTRING(r.pokemon_team, LOCATE(',', r.pokemon_team) + 1), NULL)
+    FROM runs r
+    WHERE r.pokemon_team IS NOT NULL
+    UNION ALL
+    SELECT m.run_id,
+           m.position + 1,
+           TRIM(SUBSTRING_INDEX(m.rest, ',', 1)),
+           IF(LOCATE(',', m.rest) > 0, SUBSTRING(m.rest, LOCATE(',', m.rest) + 1), NULL)
+    FROM member m
+    WHERE m.rest IS NOT NULL
+)
+SELECT member.run_id,
+       ROW_NUMBER() OVER (PARTITION BY member.run_id ORDER BY member.position) - 1,
+       member.pokemon,
+       LOWER(member.pokemon)
+FROM member
+WHERE member.pokemon <> '';
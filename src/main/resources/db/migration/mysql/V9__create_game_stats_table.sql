@@ -0,0 +1,15 @@
+CREATE TABLE game_stats (
+    game VARCHAR(100) PRIMARY KEY,
+    run_count BIGINT NOT NULL,
+    total_run_time BIGINT NOT NULL,
+    min_run_time BIGINT NOT NULL,
+    max_run_time BIGINT NOT NULL
+);
+
+-- Recalculo de min/max quando o extremo de um jogo sai do ranking.
+CREATE INDEX idx_runs_game_run_time ON runs(game, run_time);
+
+INSERT INTO game_stats (game, run_count, total_run_time, min_run_time, max_run_time)
+SELECT game, COUNT(*), SUM(run_time), MIN(run_time), MAX(run_time)
+FROM runs
+GROUP BY game;
@@ -0,0 +1,8 @@
+-- Ids de runs passam a vir de um sequence com blocos de 50 (otimizador pooled do Hibernate),
+-- o que permite agrupar os INSERTs em batch. O Hibernate le o valor como o topo do bloco,
+-- entao o proximo valor fica 50 acima do maior id ja usado.
+CREATE SEQUENCE runs_seq INCREMENT BY 50;
+SELECT setval('runs_seq', COALESCE((SELECT MAX(id) FROM runs), 0) + 50, false);
+
+ALTER TABLE runs ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS runs_id_seq;
@@ -0,0 +1,28 @@
+CREATE TABLE leaderboard_entries (
+    run_id BIGINT PRIMARY KEY,
+    game VARCHAR(100) NOT NULL,
+    game_key VARCHAR(100) NOT NULL,
+    run_time BIGINT NOT NULL,
+    formatted_run_time VARCHAR(6) NOT NULL,
+    pokedex_status INTEGER NOT NULL,
+    pokemon_team TEXT,
+    observation VARCHAR(100),
+    user_id BIGINT NOT NULL,
+    username VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP NULL,
+    CONSTRAINT fk_leaderboard_entries_run_id FOREIGN KEY (run_id) REFERENCES runs(id) ON DELETE CASCADE
+);
+
+-- Filtro e ordenacao de cada listagem, com o id como desempate do cursor.
+CREATE INDEX idx_leaderboard_entries_game_time ON leaderboard_entries(game_key, run_time, run_id);
+CREATE INDEX idx_leaderboard_entries_run_time ON leaderboard_entries(run_time, run_id);
+CREATE INDEX idx_leaderboard_entries_pokedex ON leaderboard_entries(pokedex_status, run_id);
+CREATE INDEX idx_leaderboard_entries_user ON leaderboard_entries(user_id, run_id);
+
+INSERT INTO leaderboard_entries (run_id, game, game_key, run_time, formatted_run_time, pokedex_status,
+                                 pokemon_team, observation, user_id, username, created_at)
+SELECT r.id, r.game, LOWER(r.game), r.run_time,
+       CASE WHEN r.run_time < 600 THEN '0' ELSE '' END || (r.run_time / 60) || ':' || LPAD((r.run_time % 60)::text, 2, '0'),
+       r.pokedex_status, r.pokemon_team, r.observation, u.id, u.username, r.created_at
+FROM runs r
+JOIN users u ON u.id = r.user_id;
@@ -0,0 +1,23 @@
+CREATE TABLE user_game_stats (
+    user_id BIGINT NOT NULL,
+    game VARCHAR(100) NOT NULL,
+    run_count BIGINT NOT NULL,
+    total_run_time BIGINT NOT NULL,
+    best_run_time BIGINT NOT NULL,
+    best_run_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, game)
+);
+
+-- Recalculo do recorde quando a melhor run de um usuario em um jogo sai.
+CREATE INDEX idx_runs_user_game_run_time ON runs(user_id, game, run_time);
+
+INSERT INTO user_game_stats (user_id, game, run_count, total_run_time, best_run_time, best_run_id)
+SELECT user_id, game, COUNT(*), SUM(run_time), MIN(run_time), MIN(id)
+FROM runs
+WHERE user_id IS NOT NULL
+GROUP BY user_id, game;
+
+UPDATE user_game_stats
+SET best_run_id = (SELECT MIN(r.id) FROM runs r
+    WHERE r.user_id = user_game_stats.user_id AND r.game = user_game_stats.game
+      AND r.run_time = user_game_stats.best_run_time);
@@ -0,0 +1,24 @@
+CREATE TABLE run_team_members (
+    run_id BIGINT NOT NULL,
+    slot INTEGER NOT NULL,
+    pokemon VARCHAR(255) NOT NULL,
+    pokemon_key VARCHAR(255) NOT NULL,
+    PRIMARY KEY (run_id, slot),
+    CONSTRAINT fk_run_team_members_run_id FOREIGN KEY (run_id) REFERENCES runs(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_run_team_members_pokemon_key ON run_team_members(pokemon_key, run_id);
+
+-- Backfill a partir da coluna pokemon_team (valores separados por virgula pelo StringListConverter).
+INSERT INTO run_team_members (run_id, slot, pokemon, pokemon_key)
+SELECT member.run_id,
+       ROW_NUMBER() OVER (PARTITION BY member.run_id ORDER BY member.position) - 1,
+       member.pokemon,
+       LOWER(member.pokemon)
+FROM (
+    SELECT r.id AS run_id, t.position, TRIM(t.name) AS pokemon
+    FROM runs r
+    CROSS JOIN LATERAL unnest(string_to_array(r.pokemon_team, ',')) WITH ORDINALITY AS t(name, position)
+    WHERE r.pokemon_team IS NOT NULL
+) member
+WHERE member.pokemon <> '';
@@ -0,0 +1,199 @@
+package pokemon.runs.time.leaderboard.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import pokemon.runs.time.leaderboard.domain.user.User;
+import pokemon.runs.time.leaderboard.infra.security.TokenService;
+import pokemon.runs.time.leaderboard.repository.user.UserRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Carga fechada contra {@code GET /integrations/pokemon/{name}} com a PokeAPI simulada respondendo
+ * em {@value #UPSTREAM_LATENCY_MS} ms, sem cache, para comparar threads de plataforma e virtuais
+ * com o mesmo {@code server.tomcat.threads.max}. As subclasses so mudam
+ * {@code spring.threads.virtual.enabled}; rodar com
+ * {@code mvn test -Dbenchmark=true -Dtest='*RequestThreadsBenchmarkTest' [-Dbenchmark.concurrency=1000]}.
+ */
+abstract class RequestThreadsBenchmark {
+
+    static final String PROPERTIES = """
+            spring.docker.compose.enabled=false
+            server.tomcat.threads.max=200
+            server.tomcat.max-connections=20000
+            server.tomcat.accept-count=10000
+            integration.http.read-timeout=60s
+            integration.rest.cache-max-size=0
+            integration.pool.max-connections=5000
+            integration.pool.max-connections-per-route=5000
+            integration.pool.acquire-timeout=30s
+            integration.resilience.max-concurrent-share=100
+            integration.resilience.sliding-window-size=100000
+            integration.resilience.minimum-number-of-calls=100000
+            integration.resilience.slow-call-duration-threshold=30s
+            """;
+
+    private static final int UPSTREAM_LATENCY_MS = 50;
+    // Compartilhado pelas duas subclasses na mesma JVM
+    private static final HttpServer upstream = startUpstream();
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @DynamicPropertySource
+    static void registerProperties(DynamicPropertyRegistry registry) {
+        registry.add("integration.rest.poke-api-base-url", () -> "http://localhost:" + upstream.getAddress().getPort());
+    }
+
+    @Test
+    @DisplayName("Vazao e p99 sob alta concorrencia")
+    void measureThroughputAndTailLatency() throws Exception {
+        int concurrency = Integer.getInteger("benchmark.concurrency", 1000);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("benchmark.warmup-seconds", 5));
+        Duration measurement = Duration.ofSeconds(Integer.getInteger("benchmark.seconds", 15));
+        String token = "Bearer " + tokenService.generateToken(benchmarkUser());
+
+        run(token, concurrency, warmup);
+        Result result = run(token, concurrency, measurement);
+
+        System.out.printf(Locale.ROOT,
+                "request-threads mode=%s concurrency=%d requests=%d errors=%d throughput=%.0f req/s p50=%.1fms p99=%.1fms max=%.1fms%n",
+                virtualThreads ? "virtual" : "platform", concurrency, result.latenciesNanos().length, result.errors(),
+                result.latenciesNanos().length / (measurement.toNanos() / 1e9),
+                percentile(result.latenciesNanos(), 0.50) / 1e6,
+                percentile(result.latenciesNanos(), 0.99) / 1e6,
+                percentile(result.latenciesNanos(), 1.0) / 1e6);
+    }
+
+    private Result run(String token, int concurrency, Duration duration) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicInteger sequence = new AtomicInteger();
+        AtomicLong errors = new AtomicLong();
+        List<long[]> perWorker = new ArrayList<>(concurrency);
+
+        try (var workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                long[] latencies = new long[1 << 16];
+                int[] count = new int[1];
+                perWorker.add(latencies);
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        // Nomes distintos para nao agrupar chamadas no carregamento do cache
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(
+                                        "http://localhost:" + port + "/integrations/pokemon/pikachu" + sequence.incrementAndGet()))
+                                .header("Authorization", token)
+                                .timeout(Duration.ofSeconds(60))
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (IOException ex) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count[0] < latencies.length) {
+                            latencies[count[0]++] = System.nanoTime() - start;
+                        }
+                    }
+                    latencies[latencies.length - 1] = count[0];
+                    return null;
+                });
+            }
+        }
+
+        long[] all = perWorker.stream()
+                .flatMapToLong(latencies -> Arrays.stream(latencies, 0, (int) latencies[latencies.length - 1]))
+                .sorted()
+                .toArray();
+        return new Result(all, errors.get());
+    }
+
+    private User benchmarkUser() {
+        return userRepository.findByUsername("bench").orElseGet(() -> {
+            User user = new User();
+            user.setUsername("bench");
+            user.setEmail("bench@test.com");
+            user.setPassword("password");
+            user.setRole("CUSTOMER");
+            return userRepository.save(user);
+        });
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static HttpServer startUpstream() {
+        // O servidor do JDK fecha conexoes keep-alive acima de 200 ociosas, o que derrubaria as do pool
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "20000");
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(0), 10_000);
+            byte[] body = """
+                    {"id": 25, "name": "pikachu", "base_experience": 112,
+                     "types": [{"slot": 1, "type": {"name": "electric", "url": "https://pokeapi.co/api/v2/type/13/"}}]}
+                    """.getBytes(StandardCharsets.UTF_8);
+            server.createContext("/pokemon/", exchange -> {
+                try {
+                    Thread.sleep(UPSTREAM_LATENCY_MS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(body);
+                }
+            });
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.start();
+            return server;
+        } catch (IOException ex) {
+            throw new IllegalStateException("Nao foi possivel iniciar a PokeAPI simulada", ex);
+        }
+    }
+
+    private record Result(long[] latenciesNanos, long errors) {
+    }
+}
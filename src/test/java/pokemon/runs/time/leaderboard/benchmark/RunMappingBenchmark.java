@@ -0,0 +1,152 @@
+package pokemon.runs.time.leaderboard.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pokemon.runs.time.leaderboard.domain.run.Run;
+import pokemon.runs.time.leaderboard.domain.user.User;
+import pokemon.runs.time.leaderboard.dto.runs.DetailsRunDTO;
+import pokemon.runs.time.leaderboard.dto.users.UserSummaryDTO;
+import pokemon.runs.time.leaderboard.utils.DurationConverter;
+import pokemon.runs.time.leaderboard.utils.RunTimeParser;
+import pokemon.runs.time.leaderboard.utils.StringListConverter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminhos executados para cada run servida ou exportada: parse e format do tempo, conversores JPA
+ * e o construtor do {@link DetailsRunDTO}. Os metodos {@code legacy*} reproduzem a implementacao
+ * anterior (regex, {@code String.format} e streams) para comparar com a atual. Rodar com
+ * {@code make bench-mapping}, que liga o profiler de GC ({@code gc.alloc.rate.norm} = bytes por operacao).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RunMappingBenchmark {
+
+    private final StringListConverter stringListConverter = new StringListConverter();
+    private final DurationConverter durationConverter = new DurationConverter();
+
+    private String runTimeText;
+    private Duration runTime;
+    private Long runTimeMinutes;
+    private List<String> team;
+    private String joinedTeam;
+    private Run run;
+
+    @Setup
+    public void setUp() {
+        runTimeText = "12:34";
+        runTime = Duration.ofMinutes(754);
+        runTimeMinutes = 754L;
+        team = List.of("Pikachu", " Charizard ", "Blastoise", "Venusaur", "Snorlax", "Lapras");
+        joinedTeam = "Pikachu,Charizard,Blastoise,Venusaur,Snorlax,Lapras";
+
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("ash");
+        user.setEmail("ash@pokemon.com");
+
+        run = new Run();
+        run.setId(10L);
+        run.setGame("Pokemon Red");
+        run.setRunTime(runTime);
+        run.setPokedexStatus(151);
+        run.setPokemonTeam(new ArrayList<>(stringListConverter.convertToEntityAttribute(joinedTeam)));
+        run.setObservation("Speedrun");
+        run.setUser(user);
+    }
+
+    @Benchmark
+    public Duration legacyParse() {
+        if (!runTimeText.matches("\\d{1,2}:[0-5]\\d")) {
+            throw new IllegalArgumentException();
+        }
+        String[] parts = runTimeText.split(":");
+        return Duration.ofHours(Integer.parseInt(parts[0])).plusMinutes(Integer.parseInt(parts[1]));
+    }
+
+    @Benchmark
+    public Duration parse() {
+        return RunTimeParser.parse(runTimeText);
+    }
+
+    @Benchmark
+    public String legacyFormat() {
+        return String.format("%02d:%02d", runTime.toHours(), runTime.toMinutesPart());
+    }
+
+    @Benchmark
+    public String format() {
+        return RunTimeParser.format(runTime);
+    }
+
+    @Benchmark
+    public Duration legacyDurationToEntity() {
+        return Duration.ofMinutes(runTimeMinutes);
+    }
+
+    @Benchmark
+    public Duration durationToEntity() {
+        return durationConverter.convertToEntityAttribute(runTimeMinutes);
+    }
+
+    @Benchmark
+    public String legacyTeamToColumn() {
+        List<String> normalizedValues = team.stream()
+                .filter(value -> value != null)
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList();
+        return normalizedValues.isEmpty() ? null : String.join(",", normalizedValues);
+    }
+
+    @Benchmark
+    public String teamToColumn() {
+        return stringListConverter.convertToDatabaseColumn(team);
+    }
+
+    @Benchmark
+    public List<String> legacyTeamToEntity() {
+        return new ArrayList<>(Arrays.stream(joinedTeam.split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList());
+    }
+
+    @Benchmark
+    public List<String> teamToEntity() {
+        return stringListConverter.convertToEntityAttribute(joinedTeam);
+    }
+
+    @Benchmark
+    public DetailsRunDTO legacyDetailsRunDTO() {
+        return new DetailsRunDTO(
+                run.getId(),
+                run.getGame(),
+                legacyFormat(),
+                run.getPokedexStatus(),
+                run.getPokemonTeam(),
+                run.getObservation(),
+                new UserSummaryDTO(run.getUser()));
+    }
+
+    @Benchmark
+    public DetailsRunDTO detailsRunDTO() {
+        return new DetailsRunDTO(run);
+    }
+}
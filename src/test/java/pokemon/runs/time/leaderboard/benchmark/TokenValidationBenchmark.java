@@ -0,0 +1,76 @@
+package pokemon.runs.time.leaderboard.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import pokemon.runs.time.leaderboard.domain.user.User;
+import pokemon.runs.time.leaderboard.infra.security.TokenService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por requisicao de validar o mesmo JWT: verificador criado a cada chamada (implementacao
+ * antiga), verificador compartilhado e o {@link TokenService} atual com cache de tokens verificados.
+ * Rodar com {@code make bench-token}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenValidationBenchmark {
+
+    private static final String SECRET = "benchmark-secret";
+
+    private TokenService tokenService;
+    private JWTVerifier sharedVerifier;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", SECRET);
+        ReflectionTestUtils.setField(tokenService, "cacheMaxSize", 10_000L);
+        ReflectionTestUtils.setField(tokenService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(tokenService, "init");
+
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("ash");
+        token = tokenService.generateToken(user);
+
+        sharedVerifier = JWT.require(Algorithm.HMAC256(SECRET)).withIssuer("leaderboard-api").build();
+    }
+
+    @Benchmark
+    public String verifierPerRequest() {
+        return JWT.require(Algorithm.HMAC256(SECRET))
+                .withIssuer("leaderboard-api")
+                .build()
+                .verify(token)
+                .getSubject();
+    }
+
+    @Benchmark
+    public String sharedVerifier() {
+        return sharedVerifier.verify(token).getSubject();
+    }
+
+    @Benchmark
+    public String tokenServiceWithCache() {
+        return tokenService.validateToken(token);
+    }
+}
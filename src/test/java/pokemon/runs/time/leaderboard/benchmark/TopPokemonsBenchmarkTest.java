@@ -0,0 +1,136 @@
+package pokemon.runs.time.leaderboard.benchmark;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import pokemon.runs.time.leaderboard.domain.run.Run;
+import pokemon.runs.time.leaderboard.domain.user.User;
+import pokemon.runs.time.leaderboard.dto.runs.TopPokemonDTO;
+import pokemon.runs.time.leaderboard.repository.run.RunRepository;
+import pokemon.runs.time.leaderboard.repository.user.UserRepository;
+import pokemon.runs.time.leaderboard.service.RunService;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara o top de pokemons agregado no banco com o algoritmo antigo (findAll + contagem em memoria).
+ * Roda so com {@code mvn test -Dbenchmark=true -Dtest=TopPokemonsBenchmarkTest [-Dbenchmark.runs=200000]}.
+ */
+@SpringBootTest(properties = {
+        "spring.docker.compose.enabled=false",
+        "spring.cache.type=none"
+})
+@ActiveProfiles("test")
+@DirtiesContext
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Benchmark - Top pokemons")
+class TopPokemonsBenchmarkTest {
+
+    private static final String[] POKEMONS = {
+            "Pikachu", "Charizard", "Blastoise", "Venusaur", "Gengar", "Snorlax", "Dragonite", "Alakazam",
+            "Gyarados", "Lapras", "Mewtwo", "Jolteon", "Starmie", "Tauros", "Exeggutor", "Rhydon",
+            "Machamp", "Golem", "Arcanine", "Nidoking", "Typhlosion", "Feraligatr", "Meganium", "Tyranitar"
+    };
+    private static final int ITERATIONS = 5;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RunRepository runRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RunService runService;
+
+    @BeforeEach
+    void seed() {
+        runRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = new User();
+        user.setUsername("bench");
+        user.setEmail("bench@test.com");
+        user.setPassword("password");
+        user.setRole("CUSTOMER");
+        user = userRepository.save(user);
+
+        int runs = Integer.getInteger("benchmark.runs", 100_000);
+        Random random = new Random(42);
+        List<Object[]> runRows = new ArrayList<>(runs);
+        List<Object[]> memberRows = new ArrayList<>(runs * 6);
+        for (long id = 1; id <= runs; id++) {
+            List<String> team = new ArrayList<>(6);
+            for (int slot = 0; slot < 6; slot++) {
+                // Distribuicao enviesada para ter um ranking estavel
+                int index = (int) Math.min(POKEMONS.length - 1, Math.abs(random.nextGaussian()) * 6);
+                String pokemon = POKEMONS[index];
+                team.add(pokemon);
+                memberRows.add(new Object[]{id, slot, pokemon, pokemon.toLowerCase(Locale.ROOT)});
+            }
+            runRows.add(new Object[]{id, "Pokemon Red", 60 + random.nextInt(600), 151, String.join(",", team), user.getId()});
+        }
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO runs (id, game, run_time, pokedex_status, pokemon_team, user_id, created_at) VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)",
+                runRows);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO run_team_members (run_id, slot, pokemon, pokemon_key) VALUES (?, ?, ?, ?)",
+                memberRows);
+    }
+
+    @Test
+    @DisplayName("Agregacao no banco contra contagem em memoria")
+    void compareWithLegacyImplementation() {
+        List<TopPokemonDTO> expected = legacyTopPokemons();
+        assertEquals(expected, runService.getTopPokemonsUsed());
+
+        long legacyNanos = measure(this::legacyTopPokemons);
+        long databaseNanos = measure(runService::getTopPokemonsUsed);
+
+        System.out.printf(Locale.ROOT, "top-pokemons runs=%d legacy=%.1fms database=%.1fms%n",
+                runRepository.count(), legacyNanos / 1e6, databaseNanos / 1e6);
+    }
+
+    private long measure(Runnable action) {
+        action.run();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            action.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private List<TopPokemonDTO> legacyTopPokemons() {
+        Map<String, Long> countsByPokemon = new LinkedHashMap<>();
+        for (Run run : runRepository.findAll()) {
+            for (String pokemon : run.getPokemonTeam()) {
+                countsByPokemon.merge(pokemon.trim(), 1L, Long::sum);
+            }
+        }
+        return countsByPokemon.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(entry -> entry.getKey().toLowerCase(Locale.ROOT)))
+                .limit(10)
+                .map(entry -> new TopPokemonDTO(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,17 @@
+package pokemon.runs.time.leaderboard.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {RequestThreadsBenchmark.PROPERTIES, "spring.threads.virtual.enabled=true"})
+@ActiveProfiles("test")
+@DirtiesContext
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Benchmark - Threads de requisicao (virtuais)")
+class VirtualRequestThreadsBenchmarkTest extends RequestThreadsBenchmark {
+}
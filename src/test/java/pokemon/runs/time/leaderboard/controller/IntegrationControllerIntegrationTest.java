@@ -3,6 +3,7 @@ package pokemon.runs.time.leaderboard.controller;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,27 +11,41 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import pokemon.runs.time.leaderboard.integration.client.PokeApiClient;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(properties = {
         "spring.docker.compose.enabled=false",
         "integration.http.connect-timeout=200ms",
-        "integration.http.read-timeout=200ms"
+        "integration.http.read-timeout=200ms",
+        "integration.soap.number-conversion-mode=verify",
+        "integration.rest.cache-ttl=500ms",
+        "integration.resilience.minimum-number-of-calls=100"
 })
 @AutoConfigureMockMvc(addFilters = false)
 @ActiveProfiles("test")
@@ -39,10 +54,26 @@ class IntegrationControllerIntegrationTest {
 
     private static final StubHttpServer restServer = new StubHttpServer("/pokemon/pikachu");
     private static final StubHttpServer soapServer = new StubHttpServer("/number-conversion");
+    private static final String PIKACHU_JSON = """
+            {
+              "id": 25,
+              "name": "pikachu",
+              "base_experience": 112,
+              "types": [
+                { "slot": 1, "type": { "name": "electric", "url": "https://pokeapi.co/api/v2/type/13/" } }
+              ]
+            }
+            """;
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private PokeApiClient pokeApiClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @DynamicPropertySource
     static void registerProperties(DynamicPropertyRegistry registry) {
         registry.add("integration.rest.poke-api-base-url", restServer::getBaseUrl);
@@ -51,16 +82,9 @@ class IntegrationControllerIntegrationTest {
 
     @BeforeEach
     void setUp() {
-        restServer.respond(200, "application/json", """
-                {
-                  "id": 25,
-                  "name": "pikachu",
-                  "base_experience": 112,
-                  "types": [
-                    { "slot": 1, "type": { "name": "electric", "url": "https://pokeapi.co/api/v2/type/13/" } }
-                  ]
-                }
-                """);
+        pokeApiClient.invalidateCache();
+        restServer.resetRequestCount();
+        restServer.respond(200, "application/json", PIKACHU_JSON);
 
         soapServer.respond(200, "text/xml;charset=UTF-8", """
                 <?xml version="1.0" encoding="utf-8"?>
@@ -144,11 +168,110 @@ class IntegrationControllerIntegrationTest {
                 .andExpect(jsonPath("$.detalhes").value("Resposta invalida recebida do servico SOAP externo"));
     }
 
+    @Test
+    @DisplayName("GET /integrations/pokemon/{pokemon} reutiliza a resposta da PokeAPI em cache")
+    void getPokemonSummaryUsesCachedRestResponse() throws Exception {
+        mockMvc.perform(get("/integrations/pokemon/pikachu")).andExpect(status().isOk());
+        mockMvc.perform(get("/integrations/pokemon/PIKACHU")).andExpect(status().isOk());
+
+        assertEquals(1, restServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("GET /integrations/pokemon/{pokemon} guarda em cache o 404 da PokeAPI")
+    void getPokemonSummaryCachesNotFound() throws Exception {
+        restServer.respond(404, "application/json", "{}");
+
+        mockMvc.perform(get("/integrations/pokemon/pikachu")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/integrations/pokemon/pikachu"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.detalhes").value("Pokemon 'pikachu' nao encontrado no servico REST externo"));
+
+        assertEquals(1, restServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("GET /integrations/pokemon/{pokemon} agrupa requisicoes simultaneas em uma chamada a PokeAPI")
+    void getPokemonSummaryCoalescesConcurrentMisses() throws Exception {
+        restServer.respondWithDelay(200, "application/json", PIKACHU_JSON, 100);
+
+        try (var executor = Executors.newFixedThreadPool(5)) {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                statuses.add(executor.submit(() -> mockMvc.perform(get("/integrations/pokemon/pikachu"))
+                        .andReturn().getResponse().getStatus()));
+            }
+            for (Future<Integer> responseStatus : statuses) {
+                assertEquals(200, responseStatus.get());
+            }
+        }
+
+        assertEquals(1, restServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("GET /integrations/pokemon/{pokemon} serve a resposta antiga enquanto recarrega apos o TTL")
+    void getPokemonSummaryServesStaleWhileRefreshing() throws Exception {
+        mockMvc.perform(get("/integrations/pokemon/pikachu")).andExpect(jsonPath("$.baseExperience").value(112));
+        // O atraso garante que o refresh ainda esta em andamento quando a segunda leitura responde
+        restServer.respondWithDelay(200, "application/json", PIKACHU_JSON.replace("112", "200"), 150);
+        Thread.sleep(600);
+
+        mockMvc.perform(get("/integrations/pokemon/pikachu")).andExpect(jsonPath("$.baseExperience").value(112));
+        long deadline = System.currentTimeMillis() + 2000;
+        while (restServer.getRequestCount() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(300);
+
+        mockMvc.perform(get("/integrations/pokemon/pikachu")).andExpect(jsonPath("$.baseExperience").value(200));
+        assertEquals(2, restServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("GET /integrations/pokemon/{pokemon} reaproveita conexoes keep-alive do pool")
+    void getPokemonSummaryReusesPooledConnections() throws Exception {
+        mockMvc.perform(get("/integrations/pokemon/pikachu")).andExpect(status().isOk());
+        pokeApiClient.invalidateCache();
+        mockMvc.perform(get("/integrations/pokemon/pikachu")).andExpect(status().isOk());
+
+        assertEquals(2, restServer.getRequestCount());
+        assertEquals(1, restServer.getClientPortCount());
+        assertNotNull(meterRegistry.find("httpcomponents.httpclient.pool.total.max").gauge());
+        assertNotNull(meterRegistry.find("integration.http.connection.acquire").timer());
+    }
+
+    @Test
+    @DisplayName("GET /integrations/pokemon?names= remove duplicados e devolve erro por item")
+    void getPokemonSummariesDeduplicatesAndReturnsPartialResults() throws Exception {
+        mockMvc.perform(get("/integrations/pokemon").param("names", "pikachu,PIKACHU, missingno"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.complete").value(false))
+                .andExpect(jsonPath("$.results", hasSize(2)))
+                .andExpect(jsonPath("$.results[0].pokemon").value("pikachu"))
+                .andExpect(jsonPath("$.results[0].summary.pokedexNumberInWords").value("twenty five"))
+                .andExpect(jsonPath("$.results[1].pokemon").value("missingno"))
+                .andExpect(jsonPath("$.results[1].status").value(404));
+
+        assertEquals(1, restServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("POST /integrations/pokemon rejeita lista vazia")
+    void postPokemonSummariesRejectsEmptyNames() throws Exception {
+        mockMvc.perform(post("/integrations/pokemon")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"names\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
     private static class StubHttpServer {
 
         private final HttpServer server;
         private final String path;
         private final AtomicReference<StubResponse> responseRef = new AtomicReference<>();
+        private final AtomicInteger requestCount = new AtomicInteger();
+        private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
 
         private StubHttpServer(String path) {
             this.path = path;
@@ -158,7 +281,7 @@ class IntegrationControllerIntegrationTest {
                 throw new IllegalStateException("Nao foi possivel iniciar servidor stub", ex);
             }
 
-            this.server.createContext(path, new DelegatingHandler(responseRef));
+            this.server.createContext(path, new DelegatingHandler(responseRef, requestCount, clientPorts));
             this.server.setExecutor(Executors.newCachedThreadPool());
             this.server.start();
         }
@@ -171,6 +294,19 @@ class IntegrationControllerIntegrationTest {
             responseRef.set(new StubResponse(status, contentType, body, delayMillis));
         }
 
+        private int getRequestCount() {
+            return requestCount.get();
+        }
+
+        private int getClientPortCount() {
+            return clientPorts.size();
+        }
+
+        private void resetRequestCount() {
+            requestCount.set(0);
+            clientPorts.clear();
+        }
+
         private String getBaseUrl() {
             return "http://localhost:" + server.getAddress().getPort();
         }
@@ -190,13 +326,19 @@ class IntegrationControllerIntegrationTest {
     private static class DelegatingHandler implements HttpHandler {
 
         private final AtomicReference<StubResponse> responseRef;
+        private final AtomicInteger requestCount;
+        private final Set<Integer> clientPorts;
 
-        private DelegatingHandler(AtomicReference<StubResponse> responseRef) {
+        private DelegatingHandler(AtomicReference<StubResponse> responseRef, AtomicInteger requestCount, Set<Integer> clientPorts) {
             this.responseRef = responseRef;
+            this.requestCount = requestCount;
+            this.clientPorts = clientPorts;
         }
 
         @Override
         public void handle(HttpExchange exchange) throws IOException {
+            requestCount.incrementAndGet();
+            clientPorts.add(exchange.getRemoteAddress().getPort());
             StubResponse response = responseRef.get();
             if (response == null) {
                 exchange.sendResponseHeaders(500, -1);
@@ -13,20 +13,29 @@ import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import pokemon.runs.time.leaderboard.config.TestSecurityConfig;
+import pokemon.runs.time.leaderboard.domain.run.LeaderboardEntry;
 import pokemon.runs.time.leaderboard.domain.run.Run;
+import pokemon.runs.time.leaderboard.domain.run.RunSnapshot;
 import pokemon.runs.time.leaderboard.domain.user.User;
+import pokemon.runs.time.leaderboard.dto.runs.CreateRunBatchDTO;
 import pokemon.runs.time.leaderboard.dto.runs.CreateRunDTO;
 import pokemon.runs.time.leaderboard.dto.runs.PatchRunDTO;
 import pokemon.runs.time.leaderboard.infra.security.TokenService;
+import pokemon.runs.time.leaderboard.repository.run.LeaderboardEntryRepository;
 import pokemon.runs.time.leaderboard.repository.run.RunRepository;
 import pokemon.runs.time.leaderboard.repository.user.UserRepository;
+import pokemon.runs.time.leaderboard.service.RunRanking;
 
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -59,6 +68,12 @@ class RunControllerIntegrationTest {
     @Autowired
     private EntityManager entityManager;
 
+    @Autowired
+    private RunRanking runRanking;
+
+    @Autowired
+    private LeaderboardEntryRepository leaderboardEntryRepository;
+
     private User testUser;
     private User otherUser;
     private String testUserToken;
@@ -71,6 +86,7 @@ class RunControllerIntegrationTest {
         org.springframework.security.core.context.SecurityContextHolder.clearContext();
 
         // Limpar banco
+        leaderboardEntryRepository.deleteAll();
         runRepository.deleteAll();
         userRepository.deleteAll();
 
@@ -106,7 +122,17 @@ class RunControllerIntegrationTest {
         testRun.setPokemonTeam(Arrays.asList("Pikachu", "Charizard", "Blastoise"));
         testRun.setObservation("Speed run");
         testRun.setUser(testUser);
-        testRun = runRepository.save(testRun);
+        testRun = saveRun(testRun);
+
+        // Runs salvas direto no repositorio nao passam pelos eventos do RunService
+        runRanking.rebuild();
+    }
+
+    // Runs salvas direto no repositorio nao passam pelos eventos do RunService
+    private Run saveRun(Run run) {
+        Run saved = runRepository.save(run);
+        leaderboardEntryRepository.save(LeaderboardEntry.of(RunSnapshot.of(saved)));
+        return saved;
     }
 
     /**
@@ -192,6 +218,53 @@ class RunControllerIntegrationTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    @DisplayName("POST /runs/batch - Deve criar todas as runs do lote")
+    void testCreateRuns_Batch() throws Exception {
+        authenticateUser(testUser);
+
+        CreateRunBatchDTO batch = new CreateRunBatchDTO(List.of(
+                new CreateRunDTO("Pokemon Blue", "3:45", 100, List.of("Bulbasaur"), "Torneio"),
+                new CreateRunDTO("Pokemon Blue", "2:10", 120, List.of("Squirtle"), "Torneio"),
+                new CreateRunDTO("Pokemon Gold", "5:00", 200, List.of("Cyndaquil"), "Torneio")
+        ));
+
+        mockMvc.perform(post("/runs/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].id").isNumber())
+                .andExpect(jsonPath("$[1].runTime").value("02:10"))
+                .andExpect(jsonPath("$[2].game").value("Pokemon Gold"));
+
+        assertEquals(4, runRepository.count());
+        mockMvc.perform(get("/runs/stats/count-by-game"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.game == 'Pokemon Blue')].count").value(contains(2)));
+
+        clearAuthentication();
+    }
+
+    @Test
+    @DisplayName("POST /runs/batch - Deve rejeitar o lote inteiro se uma run for inválida")
+    void testCreateRuns_InvalidItem() throws Exception {
+        authenticateUser(testUser);
+
+        CreateRunBatchDTO batch = new CreateRunBatchDTO(List.of(
+                new CreateRunDTO("Pokemon Blue", "3:45", 100, List.of("Bulbasaur"), null),
+                new CreateRunDTO("Pokemon Blue", "invalid", 0, List.of(), null)
+        ));
+
+        mockMvc.perform(post("/runs/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(1, runRepository.count());
+        clearAuthentication();
+    }
+
     @Test
     @DisplayName("GET /runs - Deve retornar todas as runs com paginação")
     void testGetAllRuns_Success() throws Exception {
@@ -204,6 +277,45 @@ class RunControllerIntegrationTest {
                 .andExpect(jsonPath("$.totalElements").value(1));
     }
 
+    @Test
+    @DisplayName("GET /runs?after= - Deve navegar por cursor sem contagem total")
+    void testGetAllRuns_CursorMode() throws Exception {
+        Run fasterRun = new Run();
+        fasterRun.setGame("Pokemon Blue");
+        fasterRun.setRunTime(Duration.ofHours(1));
+        fasterRun.setPokedexStatus(90);
+        fasterRun.setUser(otherUser);
+        saveRun(fasterRun);
+
+        String response = mockMvc.perform(get("/runs")
+                        .param("after", "")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].runTime").value("01:00"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        String nextCursor = objectMapper.readTree(response).get("nextCursor").asText();
+
+        mockMvc.perform(get("/runs")
+                        .param("after", nextCursor)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(testRun.getId()))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /runs?after= - Deve retornar 400 com cursor inválido")
+    void testGetAllRuns_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/runs")
+                        .param("after", "nao-e-um-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.erro").value("Argumento inválido"));
+    }
+
     @Test
     @DisplayName("GET /runs/me - Deve retornar apenas runs do usuário autenticado")
     void testGetAllMyRuns_Success() throws Exception {
@@ -217,7 +329,7 @@ class RunControllerIntegrationTest {
         otherRun.setPokemonTeam(Arrays.asList("Cyndaquil", "Typhlosion"));
         otherRun.setObservation("Test");
         otherRun.setUser(otherUser);
-        runRepository.save(otherRun);
+        saveRun(otherRun);
 
         mockMvc.perform(get("/runs/me")
                         .header("Authorization", "Bearer " + testUserToken))
@@ -273,6 +385,33 @@ class RunControllerIntegrationTest {
         clearAuthentication();
     }
 
+    @Test
+    @DisplayName("PATCH /runs/{id} - Deve refletir a alteração nas leituras pelo modelo de leitura")
+    void testUpdateRun_ReflectedInReadModel() throws Exception {
+        authenticateUser(testUser);
+
+        PatchRunDTO patchRunDTO = new PatchRunDTO(null, "1:05", null, Arrays.asList("Mew"), null);
+
+        mockMvc.perform(patch("/runs/" + testRun.getId())
+                        .header("Authorization", "Bearer " + testUserToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patchRunDTO)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/runs/" + testRun.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.runTime").value("01:05"))
+                .andExpect(jsonPath("$.pokemonTeam[0]").value("Mew"))
+                .andExpect(jsonPath("$.user.username").value("testuser"));
+
+        mockMvc.perform(get("/runs/fastest").param("maxTime", "1:10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(testRun.getId()));
+
+        clearAuthentication();
+    }
+
     @Test
     @DisplayName("PATCH /runs/{id} - Deve retornar 403 ao tentar atualizar run de outro usuário")
     void testUpdateRun_Forbidden() throws Exception {
@@ -340,6 +479,142 @@ class RunControllerIntegrationTest {
                 .andExpect(jsonPath("$.content[0].game").value("Pokemon Red"));
     }
 
+    @Test
+    @DisplayName("GET /runs/game/{game} - Deve paginar pelo ranking de tempo sem diferenciar maiúsculas")
+    void testGetRunsByGame_RankedPages() throws Exception {
+        Run fasterRun = new Run();
+        fasterRun.setGame("pokemon red");
+        fasterRun.setRunTime(Duration.ofHours(1));
+        fasterRun.setPokedexStatus(80);
+        fasterRun.setPokemonTeam(Arrays.asList("Mew"));
+        fasterRun.setObservation("Any%");
+        fasterRun.setUser(otherUser);
+        saveRun(fasterRun);
+        runRanking.rebuild();
+
+        mockMvc.perform(get("/runs/game/Pokemon Red")
+                        .param("page", "0")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].runTime").value("01:00"))
+                .andExpect(jsonPath("$.totalElements").value(2));
+
+        mockMvc.perform(get("/runs/game/Pokemon Red")
+                        .param("page", "1")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(testRun.getId()));
+    }
+
+    @Test
+    @DisplayName("GET /runs/{id}/rank - Deve retornar a posição da run e os vizinhos")
+    void testGetRunRank() throws Exception {
+        Run fasterRun = new Run();
+        fasterRun.setGame("Pokemon Red");
+        fasterRun.setRunTime(Duration.ofHours(1));
+        fasterRun.setPokedexStatus(80);
+        fasterRun.setPokemonTeam(Arrays.asList("Mew"));
+        fasterRun.setUser(otherUser);
+        fasterRun = saveRun(fasterRun);
+        runRanking.rebuild();
+
+        mockMvc.perform(get("/runs/" + testRun.getId() + "/rank")
+                        .param("around", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rank").value(2))
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.run.id").value(testRun.getId()))
+                .andExpect(jsonPath("$.above[0].id").value(fasterRun.getId()))
+                .andExpect(jsonPath("$.below", hasSize(0)));
+
+        mockMvc.perform(get("/runs/" + testRun.getId() + "/rank")
+                        .param("around", "51"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /runs/me/stats - Deve retornar recorde e totais por jogo do usuário")
+    void testGetMyStats() throws Exception {
+        authenticateUser(testUser);
+
+        // Runs salvas direto no repositorio entram nas estatisticas pela reconstrucao
+        mockMvc.perform(post("/runs/stats/users/rebuild"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/runs/me/stats")
+                        .header("Authorization", "Bearer " + testUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.runCount").value(1))
+                .andExpect(jsonPath("$.games", hasSize(1)))
+                .andExpect(jsonPath("$.games[0].game").value("Pokemon Red"))
+                .andExpect(jsonPath("$.games[0].bestRunTime").value("02:30"))
+                .andExpect(jsonPath("$.games[0].bestRunId").value(testRun.getId()))
+                .andExpect(jsonPath("$.games[0].avgRunTime").value(150.0));
+
+        clearAuthentication();
+    }
+
+    @Test
+    @DisplayName("GET /runs/me/rank - Deve retornar a posição da melhor run do usuário no jogo")
+    void testGetMyRunRank() throws Exception {
+        authenticateUser(testUser);
+
+        mockMvc.perform(get("/runs/me/rank")
+                        .param("game", "pokemon red")
+                        .header("Authorization", "Bearer " + testUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rank").value(1))
+                .andExpect(jsonPath("$.run.id").value(testRun.getId()));
+
+        mockMvc.perform(get("/runs/me/rank")
+                        .param("game", "Pokemon Gold")
+                        .header("Authorization", "Bearer " + testUserToken))
+                .andExpect(status().isNotFound());
+
+        clearAuthentication();
+    }
+
+    @Test
+    @DisplayName("GET /runs/top - Deve listar as runs mais rápidas de todos os jogos")
+    void testGetTopRuns() throws Exception {
+        Run goldRun = new Run();
+        goldRun.setGame("Pokemon Gold");
+        goldRun.setRunTime(Duration.ofHours(1));
+        goldRun.setPokedexStatus(100);
+        goldRun.setPokemonTeam(Arrays.asList("Typhlosion"));
+        goldRun.setUser(otherUser);
+        goldRun = saveRun(goldRun);
+
+        mockMvc.perform(post("/runs/ranking/rebuild"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/runs/top")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(goldRun.getId()))
+                .andExpect(jsonPath("$[1].id").value(testRun.getId()));
+    }
+
+    @Test
+    @DisplayName("GET /runs/top - Deve rejeitar limite fora da faixa")
+    void testGetTopRuns_InvalidLimit() throws Exception {
+        mockMvc.perform(get("/runs/top")
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /runs/game/{game}?after= - Deve navegar o ranking por cursor")
+    void testGetRunsByGame_CursorMode() throws Exception {
+        mockMvc.perform(get("/runs/game/Pokemon Red")
+                        .param("after", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
     @Test
     @DisplayName("GET /runs/fastest - Deve buscar runs mais rápidas")
     void testGetFastestRuns_Success() throws Exception {
@@ -403,8 +678,16 @@ class RunControllerIntegrationTest {
     @Test
     @DisplayName("GET /runs/export/csv - Deve exportar runs em CSV")
     void testExportRunsToCsv_Success() throws Exception {
-        mockMvc.perform(get("/runs/export/csv")
+        // O CSV e escrito em outra thread (StreamingResponseBody), que so enxerga dados commitados
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        MvcResult asyncResult = mockMvc.perform(get("/runs/export/csv")
                         .header("Authorization", "Bearer " + testUserToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.TEXT_PLAIN))
                 .andExpect(header().string("Content-Disposition", "attachment; filename=runs.csv"))
@@ -415,8 +698,16 @@ class RunControllerIntegrationTest {
     @Test
     @DisplayName("GET /runs/export/excel - Deve exportar runs em Excel")
     void testExportRunsToExcel_Success() throws Exception {
-        mockMvc.perform(get("/runs/export/excel")
+        // Mesmo caso do CSV: a planilha e gerada fora da transacao do teste
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        MvcResult asyncResult = mockMvc.perform(get("/runs/export/excel")
                         .header("Authorization", "Bearer " + testUserToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
                 .andExpect(header().string("Content-Disposition", "attachment; filename=leaderboard.xlsx"))
@@ -137,6 +137,20 @@ class SecurityIntegrationTest {
                 .andExpect(jsonPath("$.content[0].game").value("Pokemon Crystal"));
     }
 
+    @Test
+    @DisplayName("Reconstruções do ranking e das estatísticas exigem perfil de administrador")
+    void rebuildEndpointsRequireAdmin() throws Exception {
+        String token = registerAndLogin("rankinguser", "ranking@example.com", "password123");
+
+        mockMvc.perform(post("/runs/ranking/rebuild")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/runs/stats/users/rebuild")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @DisplayName("Tokens inválidos e expirados não autenticam endpoints protegidos")
     void invalidAndExpiredTokensDoNotAuthenticate() throws Exception {
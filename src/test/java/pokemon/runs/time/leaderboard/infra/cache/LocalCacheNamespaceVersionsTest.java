@@ -0,0 +1,51 @@
+package pokemon.runs.time.leaderboard.infra.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("LocalCacheNamespaceVersions - Testes Unitários")
+class LocalCacheNamespaceVersionsTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private LocalCacheNamespaceVersions versions;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager("runs", "runsByGame");
+        versions = new LocalCacheNamespaceVersions();
+        ReflectionTestUtils.setField(versions, "cacheManager", cacheManager);
+    }
+
+    @Test
+    @DisplayName("Deve remover só as entradas de versões antigas do namespace incrementado")
+    void bumpRemovesStaleEntriesOfNamespace() {
+        cacheManager.getCache("runsByGame").put("0:pokemon red:0:10:UNSORTED", "red");
+        cacheManager.getCache("runsByGame").put("0:pokemon blue:0:10:UNSORTED", "blue");
+        cacheManager.getCache("runs").put("0:0:10:UNSORTED", "page");
+
+        versions.bump("runsByGame:pokemon red");
+        cacheManager.getCache("runsByGame").put("1:pokemon red:0:10:UNSORTED", "red");
+
+        assertEquals(1, versions.current("runsByGame:pokemon red"));
+        assertEquals(0, versions.current("runs"));
+        assertEquals(Set.of("1:pokemon red:0:10:UNSORTED", "0:pokemon blue:0:10:UNSORTED"), keys("runsByGame"));
+        assertEquals(Set.of("0:0:10:UNSORTED"), keys("runs"));
+
+        versions.bump("runs");
+
+        assertTrue(keys("runs").isEmpty());
+    }
+
+    private Set<Object> keys(String cacheName) {
+        return ((ConcurrentMapCache) cacheManager.getCache(cacheName)).getNativeCache().keySet();
+    }
+}
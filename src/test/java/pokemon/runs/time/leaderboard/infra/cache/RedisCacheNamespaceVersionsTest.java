@@ -0,0 +1,89 @@
+package pokemon.runs.time.leaderboard.infra.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import pokemon.runs.time.leaderboard.infra.config.NearCacheProperties;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RedisCacheNamespaceVersions - Testes Unitários")
+class RedisCacheNamespaceVersionsTest {
+
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> values;
+    private NearCacheProperties nearCacheProperties;
+    private RedisCacheNamespaceVersions versions;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        nearCacheProperties = new NearCacheProperties();
+        nearCacheProperties.setTimeToLive(Duration.ofMinutes(1));
+
+        versions = new RedisCacheNamespaceVersions();
+        ReflectionTestUtils.setField(versions, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(versions, "nearCacheProperties", nearCacheProperties);
+    }
+
+    @Test
+    @DisplayName("Deve ler a versão do Redis uma vez e depois servir da memória")
+    void shouldReadRedisOnlyOnMiss() {
+        when(values.get("leaderboard:cache-version:runs")).thenReturn("3");
+
+        assertEquals(3, versions.current("runs"));
+        assertEquals(3, versions.current("runs"));
+
+        verify(values, times(1)).get(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar versões anunciadas sem voltar ao Redis e nunca regredir")
+    void shouldApplyAnnouncedVersions() {
+        when(values.get("leaderboard:cache-version:runs")).thenReturn("3");
+        versions.current("runs");
+
+        versions.onVersionMessage(new CacheEvictionMessage("", RedisCacheNamespaceVersions.VERSION_MESSAGE, "5:runs"));
+        versions.onVersionMessage(new CacheEvictionMessage("", RedisCacheNamespaceVersions.VERSION_MESSAGE, "4:runs"));
+
+        assertEquals(5, versions.current("runs"));
+        verify(values, times(1)).get(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve incrementar no Redis, aplicar localmente e anunciar a nova versão")
+    void shouldBumpAndPublish() {
+        when(values.increment("leaderboard:cache-version:runsByGame:pokemon red")).thenReturn(7L);
+
+        versions.bump("runsByGame:pokemon red");
+
+        assertEquals(7, versions.current("runsByGame:pokemon red"));
+        verify(values, never()).get(anyString());
+        verify(redisTemplate).convertAndSend(nearCacheProperties.getInvalidationChannel(),
+                new CacheEvictionMessage("", RedisCacheNamespaceVersions.VERSION_MESSAGE, "7:runsByGame:pokemon red").encode());
+    }
+
+    @Test
+    @DisplayName("Deve seguir com a última versão conhecida quando o Redis cai")
+    void shouldKeepLastKnownVersionWhenRedisIsDown() {
+        nearCacheProperties.setTimeToLive(Duration.ZERO);
+        when(values.get("leaderboard:cache-version:runs"))
+                .thenReturn("2")
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertEquals(2, versions.current("runs"));
+        assertEquals(2, versions.current("runs"));
+        assertEquals(0, versions.current("stats"));
+    }
+}
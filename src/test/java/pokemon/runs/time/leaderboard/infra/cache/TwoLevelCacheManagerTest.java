@@ -0,0 +1,80 @@
+package pokemon.runs.time.leaderboard.infra.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TwoLevelCacheManager - Testes Unitários")
+class TwoLevelCacheManagerTest {
+
+    private ConcurrentMapCacheManager sharedCacheManager;
+    private List<CacheEvictionMessage> published;
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        sharedCacheManager = new ConcurrentMapCacheManager("runs");
+        published = new ArrayList<>();
+        cacheManager = new TwoLevelCacheManager(sharedCacheManager, 100, Duration.ofMinutes(1), published::add);
+    }
+
+    @Test
+    @DisplayName("Deve servir leituras repetidas do L1 sem voltar ao cache compartilhado")
+    void shouldServeRepeatedReadsFromLocalCache() {
+        Cache cache = cacheManager.getCache("runs");
+        sharedCacheManager.getCache("runs").put("0:10", "page");
+
+        assertEquals("page", cache.get("0:10").get());
+        sharedCacheManager.getCache("runs").clear();
+
+        assertEquals("page", cache.get("0:10").get());
+        assertEquals("page", cache.get("0:10", () -> "recalculada"));
+    }
+
+    @Test
+    @DisplayName("Deve limpar os dois níveis e anunciar a eviction")
+    void shouldClearBothLevelsAndPublishEviction() {
+        Cache cache = cacheManager.getCache("runs");
+        cache.put("0:10", "page");
+
+        cache.clear();
+
+        assertNull(cache.get("0:10"));
+        assertNull(sharedCacheManager.getCache("runs").get("0:10"));
+        assertEquals(1, published.size());
+        assertEquals("runs", published.getFirst().cacheName());
+        assertNull(published.getFirst().key());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar no L1 evictions de outra instância e ignorar as próprias")
+    void shouldApplyRemoteEvictionsOnly() {
+        Cache cache = cacheManager.getCache("runs");
+        cache.put("0:10", "page");
+        cache.put("1:10", "other");
+        sharedCacheManager.getCache("runs").clear();
+
+        cacheManager.onEvictionMessage(new CacheEvictionMessage("other-node", "runs", "0:10"));
+
+        assertNull(cache.get("0:10"));
+        assertEquals("other", cache.get("1:10").get());
+
+        cache.evict("missing");
+        cacheManager.onEvictionMessage(new CacheEvictionMessage(published.getLast().origin(), "runs", null));
+
+        assertEquals("other", cache.get("1:10").get());
+
+        cacheManager.onEvictionMessage(CacheEvictionMessage.decode(
+                new CacheEvictionMessage("other-node", "runs", null).encode()));
+
+        assertNull(cache.get("1:10"));
+    }
+}
@@ -1,11 +1,13 @@
 package pokemon.runs.time.leaderboard.infra.security;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockFilterChain;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -14,11 +16,13 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import pokemon.runs.time.leaderboard.domain.user.User;
 import pokemon.runs.time.leaderboard.repository.user.UserRepository;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -33,6 +37,9 @@ class SecurityFilterTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private PrincipalCache principalCache = new PrincipalCache(Duration.ofMinutes(5), 100, new SimpleMeterRegistry());
+
     @InjectMocks
     private SecurityFilter securityFilter;
 
@@ -100,4 +107,29 @@ class SecurityFilterTest {
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(userRepository, never()).findByUsername(org.mockito.ArgumentMatchers.anyString());
     }
+
+    @Test
+    @DisplayName("Deve reutilizar o usuário em cache sem nova consulta ao banco")
+    void shouldReuseCachedPrincipalAcrossRequests() throws Exception {
+        var user = new User();
+        when(tokenService.validateToken("valid-token")).thenReturn("testuser");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+
+        for (int i = 0; i < 3; i++) {
+            var request = new MockHttpServletRequest();
+            request.addHeader("Authorization", "Bearer valid-token");
+            securityFilter.doFilterInternal(request, new MockHttpServletResponse(), new MockFilterChain());
+            assertSame(user, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+            SecurityContextHolder.clearContext();
+        }
+
+        verify(userRepository, times(1)).findByUsername("testuser");
+
+        principalCache.invalidate("testuser");
+        var request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer valid-token");
+        securityFilter.doFilterInternal(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
 }
@@ -2,14 +2,19 @@ package pokemon.runs.time.leaderboard.infra.security;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import pokemon.runs.time.leaderboard.domain.user.User;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -20,6 +25,12 @@ class TokenServiceTest {
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${api.security.token.secret}")
+    private String secret;
+
     private User testUser;
 
     @BeforeEach
@@ -239,6 +250,49 @@ class TokenServiceTest {
         assertEquals("user2", subject2);
     }
 
+    @Test
+    @DisplayName("ValidateToken - Deve reutilizar token já verificado a partir do cache")
+    void testValidateToken_ServesRepeatedTokenFromCache() {
+        // Arrange - usuario proprio para o token nao ter sido validado por outro teste
+        testUser.setUsername("cacheuser");
+        String token = tokenService.generateToken(testUser);
+        double hitsBefore = verifiedTokenCacheHits();
+
+        // Act
+        String first = tokenService.validateToken(token);
+        String second = tokenService.validateToken(token);
+
+        // Assert
+        assertEquals("cacheuser", first);
+        assertEquals("cacheuser", second);
+        assertEquals(hitsBefore + 1, verifiedTokenCacheHits());
+    }
+
+    @Test
+    @DisplayName("ValidateToken - Deve rejeitar token expirado com assinatura válida")
+    void testValidateToken_ExpiredTokenWithValidSignature() {
+        // Arrange
+        String expiredToken = JWT.create()
+                .withIssuer("leaderboard-api")
+                .withSubject("testuser")
+                .withExpiresAt(Instant.now().minus(1, ChronoUnit.MINUTES))
+                .sign(Algorithm.HMAC256(secret));
+
+        // Act
+        String subject = tokenService.validateToken(expiredToken);
+
+        // Assert
+        assertEquals("", subject);
+    }
+
+    private double verifiedTokenCacheHits() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "verifiedTokenCache")
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+
     // ==================== TOKEN STRUCTURE TESTS ====================
 
     @Test
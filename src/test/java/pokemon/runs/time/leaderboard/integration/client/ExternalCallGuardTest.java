@@ -0,0 +1,153 @@
+package pokemon.runs.time.leaderboard.integration.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import pokemon.runs.time.leaderboard.infra.config.IntegrationProperties;
+import pokemon.runs.time.leaderboard.infra.errors.ExternalServiceException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ExternalCallGuard - Testes Unitários")
+class ExternalCallGuardTest {
+
+    private ExternalCallGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        IntegrationProperties properties = new IntegrationProperties();
+        IntegrationProperties.Resilience resilience = properties.getResilience();
+        resilience.setSlidingWindowSize(4);
+        resilience.setMinimumNumberOfCalls(4);
+        resilience.setWaitDurationInOpenState(Duration.ofMinutes(1));
+        resilience.setRetryBackoff(Duration.ofMillis(1));
+        guard = newGuard(properties);
+    }
+
+    @Test
+    @DisplayName("Deve repetir falhas rápidas uma única vez")
+    void shouldRetryBadGatewayOnce() {
+        AtomicInteger calls = new AtomicInteger();
+
+        ExternalServiceException ex = assertThrows(ExternalServiceException.class, () -> guard.call("rest", () -> {
+            calls.incrementAndGet();
+            throw new ExternalServiceException(HttpStatus.BAD_GATEWAY, "rest", "falha");
+        }));
+
+        assertEquals(HttpStatus.BAD_GATEWAY, ex.getStatus());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("Não deve repetir timeout")
+    void shouldNotRetryTimeout() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(ExternalServiceException.class, () -> guard.call("rest", () -> {
+            calls.incrementAndGet();
+            throw new ExternalServiceException(HttpStatus.GATEWAY_TIMEOUT, "rest", "timeout");
+        }));
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Deve abrir o circuito e rejeitar chamadas sem consumir o serviço")
+    void shouldOpenCircuitAfterFailures() {
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ExternalServiceException.class, () -> guard.call("soap", () -> {
+                calls.incrementAndGet();
+                throw new ExternalServiceException(HttpStatus.GATEWAY_TIMEOUT, "soap", "timeout");
+            }));
+        }
+
+        ExternalServiceException ex = assertThrows(ExternalServiceException.class,
+                () -> guard.call("soap", calls::incrementAndGet));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+        assertEquals(4, calls.get());
+        assertEquals("ok", guard.call("rest", () -> "ok"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar chamadas além da fração de threads permitida")
+    void shouldRejectCallsBeyondBulkhead() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            Future<String> inFlight = executor.submit(() -> guard.call("rest", () -> {
+                started.countDown();
+                await(release);
+                return "ok";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            ExternalServiceException ex = assertThrows(ExternalServiceException.class, () -> guard.call("soap", () -> "ok"));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+
+            release.countDown();
+            assertEquals("ok", inFlight.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve abrir o circuito pela taxa de chamadas lentas, independente da taxa de falhas")
+    void shouldOpenCircuitOnSlowCallRate() {
+        IntegrationProperties properties = new IntegrationProperties();
+        IntegrationProperties.Resilience resilience = properties.getResilience();
+        resilience.setFailureRateThreshold(100f);
+        resilience.setSlowCallRateThreshold(50f);
+        resilience.setSlowCallDurationThreshold(Duration.ofMillis(1));
+        resilience.setSlidingWindowSize(4);
+        resilience.setMinimumNumberOfCalls(4);
+        resilience.setWaitDurationInOpenState(Duration.ofMinutes(1));
+        ExternalCallGuard slowGuard = newGuard(properties);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("ok", slowGuard.call("rest", () -> {
+                sleep(10);
+                return "ok";
+            }));
+        }
+
+        ExternalServiceException ex = assertThrows(ExternalServiceException.class, () -> slowGuard.call("rest", () -> "ok"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+    }
+
+    private static ExternalCallGuard newGuard(IntegrationProperties properties) {
+        ExternalCallGuard guard = new ExternalCallGuard();
+        ReflectionTestUtils.setField(guard, "integrationProperties", properties);
+        ReflectionTestUtils.setField(guard, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(guard, "requestThreads", 10);
+        guard.init();
+        return guard;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
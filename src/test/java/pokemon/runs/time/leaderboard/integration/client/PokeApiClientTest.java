@@ -0,0 +1,75 @@
+package pokemon.runs.time.leaderboard.integration.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClient;
+import pokemon.runs.time.leaderboard.infra.config.IntegrationProperties;
+import pokemon.runs.time.leaderboard.infra.errors.ExternalServiceException;
+import pokemon.runs.time.leaderboard.integration.dto.ExternalPokemonDetails;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("PokeApiClient - Testes Unitários")
+class PokeApiClientTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger loads = new AtomicInteger();
+    private PokeApiClient client;
+
+    @BeforeEach
+    void setUp() {
+        IntegrationProperties properties = new IntegrationProperties();
+        properties.getRest().setCacheWaitTimeout(Duration.ofMillis(50));
+
+        // O carregamento fica preso ate o teste liberar, como uma PokeAPI travada
+        ExternalCallGuard guard = mock(ExternalCallGuard.class);
+        when(guard.call(eq("PokeAPI"), any())).thenAnswer(invocation -> {
+            loads.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(new ExternalPokemonDetails("pikachu", 25L, 112, List.of("electric")));
+        });
+
+        client = new PokeApiClient();
+        ReflectionTestUtils.setField(client, "pokeApiRestClient", RestClient.create());
+        ReflectionTestUtils.setField(client, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(client, "integrationProperties", properties);
+        ReflectionTestUtils.setField(client, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(client, "externalCallGuard", guard);
+        client.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        client.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve responder 504 quando a espera pelo carregamento passa do prazo, sem cancelar o carregamento")
+    void shouldBoundWaitForSharedLoad() {
+        ExternalServiceException ex = assertThrows(ExternalServiceException.class, () -> client.fetchPokemon("Pikachu"));
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, ex.getStatus());
+
+        release.countDown();
+
+        assertEquals("pikachu", client.fetchPokemon("pikachu").name());
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,324 @@
+package pokemon.runs.time.leaderboard.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import pokemon.runs.time.leaderboard.domain.run.LeaderboardEntry;
+import pokemon.runs.time.leaderboard.domain.run.Run;
+import pokemon.runs.time.leaderboard.domain.run.RunSnapshot;
+import pokemon.runs.time.leaderboard.domain.user.User;
+import pokemon.runs.time.leaderboard.dto.runs.DetailsRunDTO;
+import pokemon.runs.time.leaderboard.repository.run.LeaderboardEntryRepository;
+import pokemon.runs.time.leaderboard.repository.run.RunRepository;
+import pokemon.runs.time.leaderboard.utils.RunTimeParser;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("LeaderboardEntryRepository - Testes de Persistência")
+class LeaderboardEntryRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LeaderboardEntryRepository leaderboardEntryRepository;
+
+    @Autowired
+    private RunRepository runRepository;
+
+    private User testUser;
+    private Run testRun1;
+    private Run testRun2;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setUsername("testuser");
+        testUser.setEmail("test@test.com");
+        testUser.setPassword("password");
+        testUser.setRole("CUSTOMER");
+        entityManager.persist(testUser);
+
+        testRun1 = new Run();
+        testRun1.setGame("Pokemon Red");
+        testRun1.setRunTime(Duration.ofHours(2).plusMinutes(30));
+        testRun1.setPokedexStatus(151);
+        testRun1.setPokemonTeam(Arrays.asList("Pikachu", "Charizard", "Blastoise"));
+        testRun1.setObservation("Speed run");
+        testRun1.setUser(testUser);
+        persist(testRun1);
+
+        testRun2 = new Run();
+        testRun2.setGame("Pokemon Blue");
+        testRun2.setRunTime(Duration.ofHours(4).plusMinutes(15));
+        testRun2.setPokedexStatus(100);
+        testRun2.setPokemonTeam(Arrays.asList("Bulbasaur", "Squirtle"));
+        testRun2.setObservation("Casual run");
+        testRun2.setUser(testUser);
+        persist(testRun2);
+
+        entityManager.flush();
+    }
+
+    // Sem o RunService, a linha do modelo de leitura e gravada junto com a run
+    private void persist(Run run) {
+        entityManager.persist(run);
+        entityManager.persist(LeaderboardEntry.of(RunSnapshot.of(run)));
+    }
+
+    @Test
+    @DisplayName("Deve buscar runs por game (ignore case)")
+    void testFindByGameIgnoreCase_Success() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+
+        // Act
+        Page<DetailsRunDTO> result = leaderboardEntryRepository.findByGameIgnoreCase("pokemon red", pageable);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Pokemon Red", result.getContent().get(0).game());
+    }
+
+    @Test
+    @DisplayName("Deve buscar a melhor run do usuário no jogo")
+    void testFindBestByUserAndGame_ReturnsFastest() {
+        // Arrange
+        Run faster = new Run();
+        faster.setGame("POKEMON RED");
+        faster.setRunTime(Duration.ofHours(1));
+        faster.setPokedexStatus(80);
+        faster.setPokemonTeam(Arrays.asList("Mew"));
+        faster.setUser(testUser);
+        persist(faster);
+        entityManager.flush();
+
+        // Act
+        List<DetailsRunDTO> result = leaderboardEntryRepository.findBestByUserAndGame(testUser.getId(), "pokemon red", Limit.of(1));
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(faster.getId(), result.getFirst().id());
+        assertTrue(leaderboardEntryRepository.findBestByUserAndGame(testUser.getId(), "Pokemon Gold", Limit.of(1)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve buscar runs por user ID")
+    void testFindByUserId_Success() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+
+        // Act
+        Page<DetailsRunDTO> result = leaderboardEntryRepository.findByUserId(testUser.getId(), pageable);
+
+        // Assert
+        assertEquals(2, result.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Deve buscar fastest runs")
+    void testFindFastestRuns_Success() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        Duration maxDuration = Duration.ofHours(3);
+
+        // Act
+        Page<DetailsRunDTO> result = leaderboardEntryRepository.findFastestRuns(maxDuration.toMinutes(), pageable);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Pokemon Red", result.getContent().get(0).game());
+    }
+
+    @Test
+    @DisplayName("Deve buscar runs por minPokedexStatus")
+    void testFindByMinPokedexStatus_Success() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+
+        // Act
+        Page<DetailsRunDTO> result = leaderboardEntryRepository.findByMinPokedexStatus(120, pageable);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        assertEquals(151, result.getContent().get(0).pokedexStatus());
+    }
+
+    @Test
+    @DisplayName("Deve buscar runs por pokemon no time")
+    void testFindByPokemonInTeam_Success() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+
+        // Act
+        Page<DetailsRunDTO> result = leaderboardEntryRepository.findByPokemonInTeam("Pikachu", pageable);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        assertTrue(result.getContent().get(0).pokemonTeam().contains("Pikachu"));
+    }
+
+    @Test
+    @DisplayName("Não deve buscar pokemon por correspondência parcial")
+    void testFindByPokemonInTeam_NoPartialMatch() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+
+        // Act
+        Page<DetailsRunDTO> result = leaderboardEntryRepository.findByPokemonInTeam("Pika", pageable);
+
+        // Assert
+        assertEquals(0, result.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Deve buscar pokemon no time ignorando maiúsculas e refletir alteração do time")
+    void testFindByPokemonInTeam_CaseInsensitiveAfterTeamUpdate() {
+        // Arrange
+        testRun2.setPokemonTeam(Arrays.asList(" Bulbasaur ", "Pikachu"));
+        entityManager.flush();
+        entityManager.clear();
+        Pageable pageable = PageRequest.of(0, 10);
+
+        // Act
+        Page<DetailsRunDTO> pikachuRuns = leaderboardEntryRepository.findByPokemonInTeam("pIKACHU", pageable);
+        Page<DetailsRunDTO> squirtleRuns = leaderboardEntryRepository.findByPokemonInTeam("Squirtle", pageable);
+
+        // Assert
+        assertEquals(2, pikachuRuns.getTotalElements());
+        assertEquals(0, squirtleRuns.getTotalElements());
+        Run reloaded = runRepository.findById(testRun2.getId()).orElseThrow();
+        assertEquals("bulbasaur", reloaded.getTeamMembers().get(0).getPokemonKey());
+        assertEquals("Pikachu", reloaded.getTeamMembers().get(1).getPokemon());
+    }
+
+    @Test
+    @DisplayName("Deve buscar todas as runs com paginação")
+    void testFindAll_WithPagination() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 1);
+
+        // Act
+        Page<DetailsRunDTO> result = leaderboardEntryRepository.findAllDetails(pageable);
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        assertEquals(2, result.getTotalElements());
+        assertEquals(2, result.getTotalPages());
+        assertEquals("testuser", result.getContent().get(0).user().username());
+    }
+
+    @Test
+    @DisplayName("Deve paginar por cursor de tempo sem repetir runs empatadas")
+    void testFindAfterRunTime_SeeksPastCursor() {
+        // Arrange
+        Run tiedRun = new Run();
+        tiedRun.setGame("Pokemon Green");
+        tiedRun.setRunTime(Duration.ofHours(2).plusMinutes(30));
+        tiedRun.setPokedexStatus(90);
+        tiedRun.setUser(testUser);
+        persist(tiedRun);
+        entityManager.flush();
+
+        // Act
+        List<DetailsRunDTO> firstPage = leaderboardEntryRepository.findAfterRunTime(-1L, -1L, Limit.of(2));
+        DetailsRunDTO last = firstPage.getLast();
+        List<DetailsRunDTO> secondPage = leaderboardEntryRepository.findAfterRunTime(RunTimeParser.parse(last.runTime()).toMinutes(), last.id(), Limit.of(2));
+
+        // Assert
+        assertEquals(List.of(testRun1.getId(), tiedRun.getId()), firstPage.stream().map(DetailsRunDTO::id).toList());
+        assertEquals(List.of(testRun2.getId()), secondPage.stream().map(DetailsRunDTO::id).toList());
+    }
+
+    @Test
+    @DisplayName("Deve paginar por cursor de pokedex status em ordem decrescente")
+    void testFindByMinPokedexStatusAfter_SeeksDescending() {
+        // Act
+        List<DetailsRunDTO> firstPage = leaderboardEntryRepository.findByMinPokedexStatusAfter(1, Integer.MAX_VALUE, Long.MAX_VALUE, Limit.of(1));
+        List<DetailsRunDTO> secondPage = leaderboardEntryRepository.findByMinPokedexStatusAfter(1, firstPage.getFirst().pokedexStatus(), firstPage.getFirst().id(), Limit.of(1));
+
+        // Assert
+        assertEquals(151, firstPage.getFirst().pokedexStatus());
+        assertEquals(100, secondPage.getFirst().pokedexStatus());
+    }
+
+    @Test
+    @DisplayName("Deve listar runs de vários usuários com no máximo dois SQLs por página e sem carregar entidades")
+    void testListQueries_BoundedStatementsPerPage() {
+        // Arrange
+        for (int index = 0; index < 3; index++) {
+            User owner = new User();
+            owner.setUsername("owner" + index);
+            owner.setEmail("owner" + index + "@test.com");
+            owner.setPassword("password");
+            owner.setRole("CUSTOMER");
+            entityManager.persist(owner);
+
+            Run run = new Run();
+            run.setGame("Pokemon Red");
+            run.setRunTime(Duration.ofHours(1).plusMinutes(index));
+            run.setPokedexStatus(140 + index);
+            run.setPokemonTeam(Arrays.asList("Pikachu", "Mew"));
+            run.setUser(owner);
+            persist(run);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Pageable pageable = PageRequest.of(0, 3);
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        assertTrue(statistics.isStatisticsEnabled());
+
+        List<Supplier<List<DetailsRunDTO>>> pages = List.of(
+                () -> leaderboardEntryRepository.findAllDetails(pageable).getContent(),
+                () -> leaderboardEntryRepository.findByGameIgnoreCase("pokemon red", pageable).getContent(),
+                () -> leaderboardEntryRepository.findFastestRuns(Duration.ofHours(4).toMinutes(), pageable).getContent(),
+                () -> leaderboardEntryRepository.findByMinPokedexStatus(100, pageable).getContent(),
+                () -> leaderboardEntryRepository.findByPokemonInTeam("pikachu", pageable).getContent(),
+                () -> leaderboardEntryRepository.findAfterRunTime(-1L, -1L, Limit.of(3)),
+                () -> leaderboardEntryRepository.findByMinPokedexStatusAfter(1, Integer.MAX_VALUE, Long.MAX_VALUE, Limit.of(3)));
+
+        for (Supplier<List<DetailsRunDTO>> page : pages) {
+            // Act
+            statistics.clear();
+            List<DetailsRunDTO> content = page.get();
+
+            // Assert
+            assertEquals(3, content.size());
+            assertTrue(content.stream().map(run -> run.user().username()).distinct().count() > 1);
+            assertTrue(statistics.getPrepareStatementCount() <= 2,
+                    "SQLs por pagina: " + statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getEntityLoadCount());
+            assertEquals(0, statistics.getCollectionLoadCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve guardar o tempo formatado, o time e o dono ja resolvidos")
+    void testFindDetailsById_ResolvedColumns() {
+        // Act
+        DetailsRunDTO details = leaderboardEntryRepository.findDetailsById(testRun1.getId()).orElseThrow();
+
+        // Assert
+        assertEquals("02:30", details.runTime());
+        assertEquals(List.of("Pikachu", "Charizard", "Blastoise"), details.pokemonTeam());
+        assertEquals(testUser.getUsername(), details.user().username());
+    }
+}
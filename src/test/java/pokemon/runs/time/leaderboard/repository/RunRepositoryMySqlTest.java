@@ -13,13 +13,20 @@ import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.containers.MySQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
+import pokemon.runs.time.leaderboard.domain.run.LeaderboardEntry;
 import pokemon.runs.time.leaderboard.domain.run.Run;
+import pokemon.runs.time.leaderboard.domain.run.RunSnapshot;
 import pokemon.runs.time.leaderboard.domain.user.User;
 import pokemon.runs.time.leaderboard.dto.runs.TopPokemonDTO;
+import pokemon.runs.time.leaderboard.repository.run.GameStatsRepository;
+import pokemon.runs.time.leaderboard.repository.run.LeaderboardEntryRepository;
 import pokemon.runs.time.leaderboard.repository.run.RunRepository;
 import pokemon.runs.time.leaderboard.repository.user.UserRepository;
 import pokemon.runs.time.leaderboard.service.RunService;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
 
@@ -63,6 +70,12 @@ class RunRepositoryMySqlTest {
     @Autowired
     private RunRepository runRepository;
 
+    @Autowired
+    private LeaderboardEntryRepository leaderboardEntryRepository;
+
+    @Autowired
+    private GameStatsRepository gameStatsRepository;
+
     @Autowired
     private RunService runService;
 
@@ -72,24 +85,27 @@ class RunRepositoryMySqlTest {
     @Test
     @DisplayName("Flyway aplica todas as migrations no MySQL real")
     void flywayAppliesAllMigrations() {
-        assertEquals("7", flyway.info().current().getVersion().getVersion());
+        assertEquals("13", flyway.info().current().getVersion().getVersion());
     }
 
     @Test
     @DisplayName("Queries e estatisticas funcionam no MySQL")
-    void repositoryQueriesAndStatsWorkOnMySql() {
+    void repositoryQueriesAndStatsWorkOnMySql() throws IOException {
         User user = saveUser("mysqluser", "mysql@example.com");
         saveRun(user, "Pokemon Red", Duration.ofMinutes(90), 151, List.of("Pikachu", "Charizard"), "Primeira");
         saveRun(user, "Pokemon Red", Duration.ofMinutes(150), 100, List.of(" Pikachu ", "Bulbasaur"), "Segunda");
         saveRun(user, "Pokemon Blue", Duration.ofMinutes(60), 80, List.of(), "Sem time");
 
-        assertEquals(0, runRepository.findByPokemonInTeam("Pika", org.springframework.data.domain.PageRequest.of(0, 10)).getTotalElements());
-        assertEquals(1, runRepository.findByPokemonInTeam("Bulbasaur", org.springframework.data.domain.PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(0, leaderboardEntryRepository.findByPokemonInTeam("Pika", org.springframework.data.domain.PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(1, leaderboardEntryRepository.findByPokemonInTeam("Bulbasaur", org.springframework.data.domain.PageRequest.of(0, 10)).getTotalElements());
+
+        gameStatsRepository.upsertRuns("Pokemon Red", 1, 90, 90, 90);
+        gameStatsRepository.upsertRuns("Pokemon Red", 1, 150, 150, 150);
 
-        var countByGame = runRepository.countRunsByGame();
+        var countByGame = gameStatsRepository.countRunsByGame();
         assertTrue(countByGame.stream().anyMatch(row -> row.game().equals("Pokemon Red") && row.count() == 2));
 
-        var avgByGame = runRepository.avgRunTimeByGame();
+        var avgByGame = gameStatsRepository.avgRunTimeByGame();
         assertTrue(avgByGame.stream().anyMatch(row -> row.game().equals("Pokemon Red") && row.avgRunTime().equals(120.0)));
 
         List<TopPokemonDTO> topPokemons = runService.getTopPokemonsUsed();
@@ -97,7 +113,9 @@ class RunRepositoryMySqlTest {
         assertEquals("Pikachu", topPokemons.getFirst().pokemon());
         assertEquals(2L, topPokemons.getFirst().count());
 
-        String csv = runService.exportRunsToCsv();
+        ByteArrayOutputStream csvOutput = new ByteArrayOutputStream();
+        runService.exportRunsToCsv(csvOutput);
+        String csv = csvOutput.toString(StandardCharsets.UTF_8);
         assertTrue(csv.contains("Pokemon Red"));
         assertTrue(csv.contains("Pikachu|Charizard"));
     }
@@ -119,6 +137,8 @@ class RunRepositoryMySqlTest {
         run.setPokemonTeam(team);
         run.setObservation(observation);
         run.setUser(user);
-        return runRepository.saveAndFlush(run);
+        Run saved = runRepository.saveAndFlush(run);
+        leaderboardEntryRepository.saveAndFlush(LeaderboardEntry.of(RunSnapshot.of(saved)));
+        return saved;
     }
 }
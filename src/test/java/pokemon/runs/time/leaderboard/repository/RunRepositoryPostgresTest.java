@@ -13,13 +13,20 @@ import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
+import pokemon.runs.time.leaderboard.domain.run.LeaderboardEntry;
 import pokemon.runs.time.leaderboard.domain.run.Run;
+import pokemon.runs.time.leaderboard.domain.run.RunSnapshot;
 import pokemon.runs.time.leaderboard.domain.user.User;
 import pokemon.runs.time.leaderboard.dto.runs.TopPokemonDTO;
+import pokemon.runs.time.leaderboard.repository.run.GameStatsRepository;
+import pokemon.runs.time.leaderboard.repository.run.LeaderboardEntryRepository;
 import pokemon.runs.time.leaderboard.repository.run.RunRepository;
 import pokemon.runs.time.leaderboard.repository.user.UserRepository;
 import pokemon.runs.time.leaderboard.service.RunService;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
 
@@ -59,6 +66,12 @@ class RunRepositoryPostgresTest {
     @Autowired
     private RunRepository runRepository;
 
+    @Autowired
+    private LeaderboardEntryRepository leaderboardEntryRepository;
+
+    @Autowired
+    private GameStatsRepository gameStatsRepository;
+
     @Autowired
     private RunService runService;
 
@@ -68,7 +81,7 @@ class RunRepositoryPostgresTest {
     @Test
     @DisplayName("Flyway aplica todas as migrations no PostgreSQL real")
     void flywayAppliesAllMigrations() {
-        assertEquals("7", flyway.info().current().getVersion().getVersion());
+        assertEquals("13", flyway.info().current().getVersion().getVersion());
     }
 
     @Test
@@ -79,10 +92,13 @@ class RunRepositoryPostgresTest {
         saveRun(user, "Pokemon Red", Duration.ofMinutes(150), 100, List.of(" Pikachu ", "Bulbasaur"), "Segunda");
         saveRun(user, "Pokemon Blue", Duration.ofMinutes(60), 80, List.of(), "Sem time");
 
-        var countByGame = runRepository.countRunsByGame();
+        gameStatsRepository.upsertRuns("Pokemon Red", 1, 90, 90, 90);
+        gameStatsRepository.upsertRuns("Pokemon Red", 1, 150, 150, 150);
+
+        var countByGame = gameStatsRepository.countRunsByGame();
         assertTrue(countByGame.stream().anyMatch(row -> row.game().equals("Pokemon Red") && row.count() == 2));
 
-        var avgByGame = runRepository.avgRunTimeByGame();
+        var avgByGame = gameStatsRepository.avgRunTimeByGame();
         assertTrue(avgByGame.stream().anyMatch(row -> row.game().equals("Pokemon Red") && row.avgRunTime().equals(120.0)));
 
         List<TopPokemonDTO> topPokemons = runService.getTopPokemonsUsed();
@@ -98,17 +114,19 @@ class RunRepositoryPostgresTest {
         User user = saveUser("teamuser", "team@example.com");
         saveRun(user, "Pokemon Yellow", Duration.ofMinutes(45), 151, List.of("Pikachu"), "Completa");
 
-        assertEquals(0, runRepository.findByPokemonInTeam("Pika", org.springframework.data.domain.PageRequest.of(0, 10)).getTotalElements());
-        assertEquals(1, runRepository.findByPokemonInTeam("Pikachu", org.springframework.data.domain.PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(0, leaderboardEntryRepository.findByPokemonInTeam("Pika", org.springframework.data.domain.PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(1, leaderboardEntryRepository.findByPokemonInTeam("Pikachu", org.springframework.data.domain.PageRequest.of(0, 10)).getTotalElements());
     }
 
     @Test
     @DisplayName("Exportação CSV escapa dados persistidos no PostgreSQL")
-    void csvExportEscapesPostgresData() {
+    void csvExportEscapesPostgresData() throws IOException {
         User user = saveUser("csvuser", "csv@example.com");
         saveRun(user, "Pokemon, \"Red\"", Duration.ofMinutes(75), 151, List.of("Mr. Mime", "Farfetch'd"), "Linha 1\nLinha 2");
 
-        String csv = runService.exportRunsToCsv();
+        ByteArrayOutputStream csvOutput = new ByteArrayOutputStream();
+        runService.exportRunsToCsv(csvOutput);
+        String csv = csvOutput.toString(StandardCharsets.UTF_8);
 
         assertTrue(csv.contains("\"Pokemon, \"\"Red\"\"\""));
         assertTrue(csv.contains("Mr. Mime|Farfetch'd"));
@@ -132,6 +150,8 @@ class RunRepositoryPostgresTest {
         run.setPokemonTeam(team);
         run.setObservation(observation);
         run.setUser(user);
-        return runRepository.saveAndFlush(run);
+        Run saved = runRepository.saveAndFlush(run);
+        leaderboardEntryRepository.saveAndFlush(LeaderboardEntry.of(RunSnapshot.of(saved)));
+        return saved;
     }
 }
@@ -6,14 +6,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 import pokemon.runs.time.leaderboard.domain.run.Run;
 import pokemon.runs.time.leaderboard.domain.user.User;
-import pokemon.runs.time.leaderboard.dto.runs.AvgRunTimeByGameDTO;
-import pokemon.runs.time.leaderboard.dto.runs.RunsCountByGameDTO;
+import pokemon.runs.time.leaderboard.dto.runs.TopPokemonDTO;
 import pokemon.runs.time.leaderboard.repository.run.RunRepository;
 
 import java.time.Duration;
@@ -114,108 +111,20 @@ class RunRepositoryTest {
     }
 
     @Test
-    @DisplayName("Deve buscar runs por game (ignore case)")
-    void testFindByGameIgnoreCase_Success() {
+    @DisplayName("Deve agregar top pokemons no banco ordenando por uso e nome")
+    void testFindTopPokemons_AggregatesTeamMembers() {
         // Arrange
-        Pageable pageable = PageRequest.of(0, 10);
-
-        // Act
-        Page<Run> result = runRepository.findByGameIgnoreCase("pokemon red", pageable);
-
-        // Assert
-        assertEquals(1, result.getTotalElements());
-        assertEquals("Pokemon Red", result.getContent().get(0).getGame());
-    }
-
-    @Test
-    @DisplayName("Deve buscar runs por user ID")
-    void testFindByUserId_Success() {
-        // Arrange
-        Pageable pageable = PageRequest.of(0, 10);
-
-        // Act
-        Page<Run> result = runRepository.findByUserId(testUser.getId(), pageable);
-
-        // Assert
-        assertEquals(2, result.getTotalElements());
-    }
-
-    @Test
-    @DisplayName("Deve buscar fastest runs")
-    void testFindFastestRuns_Success() {
-        // Arrange
-        Pageable pageable = PageRequest.of(0, 10);
-        Duration maxDuration = Duration.ofHours(3);
-
-        // Act
-        Page<Run> result = runRepository.findFastestRuns(maxDuration, pageable);
-
-        // Assert
-        assertEquals(1, result.getTotalElements());
-        assertEquals("Pokemon Red", result.getContent().get(0).getGame());
-    }
-
-    @Test
-    @DisplayName("Deve buscar runs por minPokedexStatus")
-    void testFindByMinPokedexStatus_Success() {
-        // Arrange
-        Pageable pageable = PageRequest.of(0, 10);
-
-        // Act
-        Page<Run> result = runRepository.findByMinPokedexStatus(120, pageable);
-
-        // Assert
-        assertEquals(1, result.getTotalElements());
-        assertEquals(151, result.getContent().get(0).getPokedexStatus());
-    }
-
-    @Test
-    @DisplayName("Deve buscar runs por pokemon no time")
-    void testFindByPokemonInTeam_Success() {
-        // Arrange
-        Pageable pageable = PageRequest.of(0, 10);
-
-        // Act
-        Page<Run> result = runRepository.findByPokemonInTeam("Pikachu", pageable);
-
-        // Assert
-        assertEquals(1, result.getTotalElements());
-        assertTrue(result.getContent().get(0).getPokemonTeam().contains("Pikachu"));
-    }
-
-    @Test
-    @DisplayName("Não deve buscar pokemon por correspondência parcial")
-    void testFindByPokemonInTeam_NoPartialMatch() {
-        // Arrange
-        Pageable pageable = PageRequest.of(0, 10);
-
-        // Act
-        Page<Run> result = runRepository.findByPokemonInTeam("Pika", pageable);
-
-        // Assert
-        assertEquals(0, result.getTotalElements());
-    }
-
-    @Test
-    @DisplayName("Deve contar runs por game")
-    void testCountRunsByGame_Success() {
-        // Act
-        List<RunsCountByGameDTO> result = runRepository.countRunsByGame();
-
-        // Assert
-        assertFalse(result.isEmpty());
-        assertTrue(result.size() >= 2);
-    }
+        testRun2.setPokemonTeam(Arrays.asList(" Pikachu ", "Bulbasaur", ""));
+        entityManager.flush();
 
-    @Test
-    @DisplayName("Deve calcular tempo médio por game")
-    void testAvgRunTimeByGame_Success() {
         // Act
-        List<AvgRunTimeByGameDTO> result = runRepository.avgRunTimeByGame();
+        List<TopPokemonDTO> result = runRepository.findTopPokemons(Limit.of(3));
 
         // Assert
-        assertFalse(result.isEmpty());
-        assertTrue(result.size() >= 2);
+        assertEquals(List.of(
+                new TopPokemonDTO("Pikachu", 2L),
+                new TopPokemonDTO("Blastoise", 1L),
+                new TopPokemonDTO("Bulbasaur", 1L)), result);
     }
 
     @Test
@@ -251,19 +160,4 @@ class RunRepositoryTest {
         assertEquals("Pokemon Red Updated", found.get().getGame());
         assertEquals(130, found.get().getPokedexStatus());
     }
-
-    @Test
-    @DisplayName("Deve buscar todas as runs com paginação")
-    void testFindAll_WithPagination() {
-        // Arrange
-        Pageable pageable = PageRequest.of(0, 1);
-
-        // Act
-        Page<Run> result = runRepository.findAll(pageable);
-
-        // Assert
-        assertEquals(1, result.getContent().size());
-        assertEquals(2, result.getTotalElements());
-        assertEquals(2, result.getTotalPages());
-    }
 }
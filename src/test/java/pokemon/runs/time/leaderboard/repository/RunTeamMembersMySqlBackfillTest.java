@@ -0,0 +1,97 @@
+package pokemon.runs.time.leaderboard.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("V8 - Backfill de run_team_members no MySQL")
+class RunTeamMembersMySqlBackfillTest {
+
+    @Container
+    static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.4")
+            .withDatabaseName("leaderboard_db")
+            .withUsername("leaderboard")
+            .withPassword("leaderboard");
+
+    @Test
+    @DisplayName("Backfill separa todos os membros do time, inclusive acima de 12")
+    void backfillSplitsEveryTeamMember() throws SQLException {
+        migrateTo("7");
+        List<String> bigTeam = IntStream.rangeClosed(1, 20).mapToObj(i -> "Pokemon" + i).toList();
+        long bigRun;
+        long smallRun;
+        try (Connection connection = connect()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("INSERT INTO users (username, password, email) VALUES ('old', 'x', 'old@test.com')");
+            }
+            bigRun = insertRun(connection, String.join(",", bigTeam));
+            smallRun = insertRun(connection, " Pikachu ,,Charizard");
+        }
+
+        migrateTo("8");
+
+        try (Connection connection = connect()) {
+            assertEquals(bigTeam, members(connection, bigRun));
+            assertEquals(List.of("Pikachu", "Charizard"), members(connection, smallRun));
+        }
+    }
+
+    private static void migrateTo(String version) {
+        Flyway.configure()
+                .dataSource(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword())
+                .locations("classpath:db/migration/mysql")
+                .target(version)
+                .load()
+                .migrate();
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+    }
+
+    private static long insertRun(Connection connection, String team) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                INSERT INTO runs (game, run_time, pokedex_status, pokemon_team, user_id)
+                VALUES ('Pokemon Red', 120, 151, ?, (SELECT id FROM users WHERE username = 'old'))
+                """, Statement.RETURN_GENERATED_KEYS)) {
+            statement.setString(1, team);
+            statement.executeUpdate();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+
+    private static List<String> members(Connection connection, long runId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT slot, pokemon, pokemon_key FROM run_team_members WHERE run_id = ? ORDER BY slot")) {
+            statement.setLong(1, runId);
+            try (ResultSet rows = statement.executeQuery()) {
+                List<String> pokemons = new ArrayList<>();
+                while (rows.next()) {
+                    assertEquals(pokemons.size(), rows.getInt("slot"));
+                    assertEquals(rows.getString("pokemon").toLowerCase(), rows.getString("pokemon_key"));
+                    pokemons.add(rows.getString("pokemon"));
+                }
+                return pokemons;
+            }
+        }
+    }
+}
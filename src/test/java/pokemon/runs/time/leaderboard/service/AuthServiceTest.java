@@ -10,12 +10,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import pokemon.runs.time.leaderboard.domain.user.User;
 import pokemon.runs.time.leaderboard.dto.auth.LoginResponseDTO;
 import pokemon.runs.time.leaderboard.dto.auth.RegisterResponseDTO;
+import pokemon.runs.time.leaderboard.dto.users.ChangePasswordDTO;
 import pokemon.runs.time.leaderboard.dto.users.CreateUserDTO;
 import pokemon.runs.time.leaderboard.dto.users.LoginUserDTO;
 import pokemon.runs.time.leaderboard.infra.errors.DuplicateResourceException;
+import pokemon.runs.time.leaderboard.infra.security.PrincipalCache;
 import pokemon.runs.time.leaderboard.infra.security.TokenService;
 import pokemon.runs.time.leaderboard.repository.user.UserRepository;
 
@@ -41,6 +45,9 @@ class AuthServiceTest {
     @Mock
     private TokenService tokenService;
 
+    @Mock
+    private PrincipalCache principalCache;
+
     @InjectMocks
     private AuthService authService;
 
@@ -321,5 +328,50 @@ class AuthServiceTest {
 
         verify(tokenService, times(2)).generateToken(testUser);
     }
-}
 
+    // ==================== CHANGE PASSWORD TESTS ====================
+
+    @Test
+    @DisplayName("ChangePassword - Deve usar usuário do banco e invalidar o principal em cache")
+    void testChangePassword_InvalidatesPrincipalCache() {
+        // Arrange
+        User cachedPrincipal = new User();
+        cachedPrincipal.setId(1L);
+        cachedPrincipal.setUsername("testuser");
+        cachedPrincipal.setPassword("stalePassword");
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("newPassword123")).thenReturn("newEncodedPassword");
+
+        // Act
+        authService.changePassword(cachedPrincipal, new ChangePasswordDTO("password123", "newPassword123"));
+
+        // Assert
+        assertEquals("newEncodedPassword", testUser.getPassword());
+        verify(userRepository).save(testUser);
+        verify(principalCache).invalidate("testuser");
+    }
+
+    @Test
+    @DisplayName("ChangePassword - Deve invalidar o principal de novo depois do commit")
+    void testChangePassword_InvalidatesPrincipalCacheAfterCommit() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("newPassword123")).thenReturn("newEncodedPassword");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            authService.changePassword(testUser, new ChangePasswordDTO("password123", "newPassword123"));
+            verify(principalCache, times(1)).invalidate("testuser");
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        verify(principalCache, times(2)).invalidate("testuser");
+    }
+}
@@ -0,0 +1,195 @@
+package pokemon.runs.time.leaderboard.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import pokemon.runs.time.leaderboard.domain.run.Run;
+import pokemon.runs.time.leaderboard.domain.run.RunChangedEvent;
+import pokemon.runs.time.leaderboard.domain.run.RunSnapshot;
+import pokemon.runs.time.leaderboard.domain.user.User;
+import pokemon.runs.time.leaderboard.dto.runs.DetailsRunDTO;
+import pokemon.runs.time.leaderboard.repository.run.LeaderboardEntryRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GameLeaderboardIndex - Testes Unitários")
+class GameLeaderboardIndexTest {
+
+    @Mock
+    private LeaderboardEntryRepository leaderboardEntryRepository;
+
+    @InjectMocks
+    private GameLeaderboardIndex index;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("ash");
+        testUser.setEmail("ash@pokemon.com");
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir o ranking do banco ordenando por tempo e id")
+    void rebuildOrdersByRunTimeAndId() {
+        when(leaderboardEntryRepository.streamAllDetails()).thenReturn(details(
+                run(3L, "Pokemon Red", 150),
+                run(1L, "Pokemon Red", 90),
+                run(2L, "POKEMON RED", 90),
+                run(4L, "Pokemon Blue", 60)
+        ));
+
+        index.rebuild();
+
+        var page = index.findPage("pokemon red", PageRequest.of(0, 10));
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of(1L, 2L, 3L), ids(page.getContent()));
+        assertEquals(List.of(4L), ids(index.findPage("Pokemon Blue", PageRequest.of(0, 10)).getContent()));
+    }
+
+    @Test
+    @DisplayName("Deve recortar páginas profundas pelo offset do ranking")
+    void slicesDeepPages() {
+        List<Run> runs = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            runs.add(run(id, "Pokemon Red", 1000 - id));
+        }
+        when(leaderboardEntryRepository.streamAllDetails()).thenReturn(details(runs.toArray(Run[]::new)));
+
+        index.rebuild();
+
+        var page = index.findPage("Pokemon Red", PageRequest.of(42, 10));
+        assertEquals(500, page.getTotalElements());
+        assertEquals(List.of(80L, 79L, 78L, 77L, 76L, 75L, 74L, 73L, 72L, 71L), ids(page.getContent()));
+        assertTrue(index.findPage("Pokemon Red", PageRequest.of(50, 10)).getContent().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve mover run entre jogos e remover runs deletadas")
+    void appliesWriteEvents() {
+        when(leaderboardEntryRepository.streamAllDetails()).thenReturn(Stream.empty());
+        index.rebuild();
+
+        RunSnapshot created = RunSnapshot.of(run(7L, "Pokemon Red", 120));
+        index.onRunChanged(RunChangedEvent.created(created));
+        assertEquals(1, index.findPage("Pokemon Red", PageRequest.of(0, 10)).getTotalElements());
+
+        RunSnapshot moved = RunSnapshot.of(run(7L, "Pokemon Gold", 100));
+        index.onRunChanged(RunChangedEvent.updated(created, moved));
+        assertEquals(0, index.findPage("Pokemon Red", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals("01:40", index.findPage("Pokemon Gold", PageRequest.of(0, 10)).getContent().getFirst().runTime());
+
+        index.onRunChanged(RunChangedEvent.deleted(moved));
+        assertEquals(0, index.findPage("Pokemon Gold", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Deve reaplicar nas árvores novas os eventos que chegam durante a reconstrução")
+    void keepsEventsReceivedDuringRebuild() {
+        Run deleted = run(1L, "Pokemon Red", 90);
+        when(leaderboardEntryRepository.streamAllDetails()).thenReturn(details(deleted, run(2L, "Pokemon Red", 120))
+                .peek(run -> {
+                    if (run.id() == 2L) {
+                        index.onRunChanged(RunChangedEvent.deleted(RunSnapshot.of(deleted)));
+                        index.onRunChanged(RunChangedEvent.created(RunSnapshot.of(run(3L, "Pokemon Red", 60))));
+                    }
+                }));
+
+        assertFalse(index.isReady());
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(3L, 2L), ids(index.findPage("Pokemon Red", PageRequest.of(0, 10)).getContent()));
+        assertEquals(List.of(3L, 2L), ids(index.findTop(10)));
+    }
+
+    @Test
+    @DisplayName("Deve montar o top global entre todos os jogos")
+    void topMergesAllGames() {
+        when(leaderboardEntryRepository.streamAllDetails()).thenReturn(details(
+                run(1L, "Pokemon Red", 150),
+                run(2L, "Pokemon Gold", 90),
+                run(3L, "Pokemon Blue", 120)
+        ));
+        index.rebuild();
+
+        assertEquals(List.of(2L, 3L), ids(index.findTop(2)));
+
+        RunSnapshot faster = RunSnapshot.of(run(1L, "Pokemon Red", 60));
+        index.onRunChanged(RunChangedEvent.updated(RunSnapshot.of(run(1L, "Pokemon Red", 150)), faster));
+        assertEquals(List.of(1L, 2L, 3L), ids(index.findTop(10)));
+    }
+
+    @Test
+    @DisplayName("Deve devolver a posição da run com os vizinhos acima e abaixo")
+    void findsRankWithNeighbours() {
+        List<Run> runs = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            runs.add(run(id, "Pokemon Red", id));
+        }
+        runs.add(run(501L, "Pokemon Blue", 1));
+        when(leaderboardEntryRepository.streamAllDetails()).thenReturn(details(runs.toArray(Run[]::new)));
+        index.rebuild();
+
+        var rank = index.findRank("POKEMON RED", 300, 300L, 2).orElseThrow();
+        assertEquals(300, rank.rank());
+        assertEquals(500, rank.total());
+        assertEquals(300L, rank.run().id());
+        assertEquals(List.of(298L, 299L), ids(rank.above()));
+        assertEquals(List.of(301L, 302L), ids(rank.below()));
+
+        var first = index.findRank("Pokemon Red", 1, 1L, 2).orElseThrow();
+        assertEquals(1, first.rank());
+        assertTrue(first.above().isEmpty());
+        assertEquals(List.of(2L, 3L), ids(first.below()));
+
+        assertTrue(index.findRank("Pokemon Red", 1, 501L, 2).isEmpty());
+        assertTrue(index.findRank("Pokemon Gold", 1, 1L, 2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve aceitar apenas a ordenação do ranking")
+    void supportsOnlyRankingOrder() {
+        assertTrue(index.supports(Sort.unsorted()));
+        assertTrue(index.supports(Sort.by("runTime")));
+        assertFalse(index.supports(Sort.by(Sort.Direction.DESC, "runTime")));
+        assertFalse(index.supports(Sort.by("pokedexStatus")));
+    }
+
+    private Run run(long id, String game, long minutes) {
+        Run run = new Run();
+        run.setId(id);
+        run.setGame(game);
+        run.setRunTime(Duration.ofMinutes(minutes));
+        run.setPokedexStatus(100);
+        run.setPokemonTeam(List.of("Pikachu"));
+        run.setUser(testUser);
+        return run;
+    }
+
+    private Stream<DetailsRunDTO> details(Run... runs) {
+        return Arrays.stream(runs).map(DetailsRunDTO::new);
+    }
+
+    private List<Long> ids(List<DetailsRunDTO> runs) {
+        return runs.stream().map(DetailsRunDTO::id).toList();
+    }
+}
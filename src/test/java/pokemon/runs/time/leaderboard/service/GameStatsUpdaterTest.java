@@ -0,0 +1,138 @@
+package pokemon.runs.time.leaderboard.service;
+
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import pokemon.runs.time.leaderboard.domain.run.GameStats;
+import pokemon.runs.time.leaderboard.domain.run.Run;
+import pokemon.runs.time.leaderboard.domain.user.User;
+import pokemon.runs.time.leaderboard.dto.runs.AvgRunTimeByGameDTO;
+import pokemon.runs.time.leaderboard.dto.runs.CreateRunDTO;
+import pokemon.runs.time.leaderboard.dto.runs.PatchRunDTO;
+import pokemon.runs.time.leaderboard.dto.runs.RunTimePercentilesByGameDTO;
+import pokemon.runs.time.leaderboard.repository.run.GameRunTimeBucketRepository;
+import pokemon.runs.time.leaderboard.repository.run.GameStatsRepository;
+import pokemon.runs.time.leaderboard.repository.user.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.docker.compose.enabled=false",
+        "spring.cache.type=simple"
+})
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("GameStatsUpdater - Rollup por jogo")
+class GameStatsUpdaterTest {
+
+    @Autowired
+    private RunService runService;
+
+    @Autowired
+    private GameStatsRepository gameStatsRepository;
+
+    @Autowired
+    private GameRunTimeBucketRepository gameRunTimeBucketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setUsername("rollup");
+        testUser.setEmail("rollup@test.com");
+        testUser.setPassword("password");
+        testUser.setRole("CUSTOMER");
+        testUser = userRepository.save(testUser);
+    }
+
+    @Test
+    @DisplayName("Deve acumular contagem, soma, minimo e maximo ao criar runs")
+    void createRunsAccumulateStats() {
+        createRun("Pokemon Red", "2:30");
+        createRun("Pokemon Red", "1:30");
+        createRun("Pokemon Blue", "3:00");
+
+        GameStats red = gameStatsRepository.findById("Pokemon Red").orElseThrow();
+        assertEquals(2, red.getRunCount());
+        assertEquals(240, red.getTotalRunTime());
+        assertEquals(90, red.getMinRunTime());
+        assertEquals(150, red.getMaxRunTime());
+
+        List<AvgRunTimeByGameDTO> averages = gameStatsRepository.avgRunTimeByGame();
+        assertEquals(List.of(
+                new AvgRunTimeByGameDTO("Pokemon Blue", 180.0),
+                new AvgRunTimeByGameDTO("Pokemon Red", 120.0)), averages);
+    }
+
+    @Test
+    @DisplayName("Deve mover a run entre jogos e recalcular extremos ao atualizar")
+    void updateRunMovesBetweenGames() {
+        Run fastest = createRun("Pokemon Red", "1:00");
+        createRun("Pokemon Red", "2:00");
+
+        runService.updateRun(fastest.getId(), new PatchRunDTO("Pokemon Gold", null, null, null, null), testUser);
+
+        GameStats red = gameStatsRepository.findById("Pokemon Red").orElseThrow();
+        assertEquals(1, red.getRunCount());
+        assertEquals(120, red.getTotalRunTime());
+        assertEquals(120, red.getMinRunTime());
+        assertEquals(120, red.getMaxRunTime());
+
+        GameStats gold = gameStatsRepository.findById("Pokemon Gold").orElseThrow();
+        assertEquals(1, gold.getRunCount());
+        assertEquals(60, gold.getMinRunTime());
+    }
+
+    @Test
+    @DisplayName("Deve remover o jogo do rollup ao deletar sua ultima run")
+    void deleteLastRunRemovesGame() {
+        Run run = createRun("Pokemon Red", "2:30");
+
+        runService.deleteRun(run.getId(), testUser);
+
+        assertTrue(gameStatsRepository.findById("Pokemon Red").isEmpty());
+        assertTrue(gameStatsRepository.countRunsByGame().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve manter o histograma de tempos e calcular percentis por jogo")
+    void maintainsRunTimePercentiles() {
+        runService.createRuns(List.of(
+                new CreateRunDTO("Pokemon Red", "1:00", 151, List.of("Pikachu"), null),
+                new CreateRunDTO("Pokemon Red", "1:10", 151, List.of("Pikachu"), null),
+                new CreateRunDTO("Pokemon Red", "1:20", 151, List.of("Pikachu"), null),
+                new CreateRunDTO("Pokemon Blue", "0:30", 151, List.of("Pikachu"), null)), testUser);
+        Run abandoned = createRun("Pokemon Red", "20:00");
+
+        RunTimePercentilesByGameDTO red = runService.getRunTimePercentilesByGame().get(1);
+        assertEquals("Pokemon Red", red.game());
+        assertEquals(4, red.runCount());
+        assertEquals(70, red.p50());
+        assertTrue(Math.abs(red.p99() - 1200) * 64 <= 1200);
+
+        runService.updateRun(abandoned.getId(), new PatchRunDTO(null, "0:50", null, null, null), testUser);
+        red = runService.getRunTimePercentilesByGame().get(1);
+        assertEquals(60, red.p50());
+        assertEquals(80, red.p99());
+
+        runService.deleteRun(abandoned.getId(), testUser);
+        assertEquals(List.of(
+                new RunTimePercentilesByGameDTO("Pokemon Blue", 1, 30, 30, 30),
+                new RunTimePercentilesByGameDTO("Pokemon Red", 3, 70, 80, 80)), runService.getRunTimePercentilesByGame());
+        assertTrue(gameRunTimeBucketRepository.findAllOrdered().stream().allMatch(bucket -> bucket.getRunCount() > 0));
+    }
+
+    private Run createRun(String game, String runTime) {
+        return runService.createRun(new CreateRunDTO(game, runTime, 151, List.of("Pikachu"), null), testUser);
+    }
+}
@@ -0,0 +1,133 @@
+package pokemon.runs.time.leaderboard.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pokemon.runs.time.leaderboard.infra.config.IntegrationProperties;
+import pokemon.runs.time.leaderboard.infra.config.IntegrationProperties.NumberConversionMode;
+import pokemon.runs.time.leaderboard.integration.client.NumberConversionSoapClient;
+import pokemon.runs.time.leaderboard.integration.client.PokeApiClient;
+import pokemon.runs.time.leaderboard.integration.dto.ExternalPokemonDetails;
+import pokemon.runs.time.leaderboard.integration.dto.NumberToWordsRequest;
+import pokemon.runs.time.leaderboard.integration.dto.NumberToWordsResult;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PokemonIntegrationService - Testes Unitários")
+class PokemonIntegrationServiceTest {
+
+    @Mock
+    private PokeApiClient pokeApiClient;
+
+    @Mock
+    private NumberConversionSoapClient numberConversionSoapClient;
+
+    @Spy
+    private IntegrationProperties integrationProperties = new IntegrationProperties();
+
+    @InjectMocks
+    private PokemonIntegrationService pokemonIntegrationService;
+
+    private void stubPikachu() {
+        when(pokeApiClient.fetchPokemon("pikachu"))
+                .thenReturn(new ExternalPokemonDetails("pikachu", 25L, 112, List.of("electric")));
+    }
+
+    @Test
+    @DisplayName("Deve converter o número localmente sem chamar o SOAP no modo padrão")
+    void localModeDoesNotCallSoap() {
+        stubPikachu();
+
+        var summary = pokemonIntegrationService.getPokemonSummary("pikachu");
+
+        assertEquals("twenty five", summary.pokedexNumberInWords());
+        verify(numberConversionSoapClient, never()).convert(any());
+    }
+
+    @Test
+    @DisplayName("Deve consultar o SOAP e responder com o valor dele no modo verify")
+    void verifyModeUsesSoapAnswer() {
+        stubPikachu();
+        integrationProperties.getSoap().setNumberConversionMode(NumberConversionMode.VERIFY);
+        when(numberConversionSoapClient.convert(new NumberToWordsRequest(25L)))
+                .thenReturn(new NumberToWordsResult(25L, "twenty five"));
+
+        var summary = pokemonIntegrationService.getPokemonSummary("pikachu");
+
+        assertEquals("twenty five", summary.pokedexNumberInWords());
+        verify(numberConversionSoapClient).convert(new NumberToWordsRequest(25L));
+    }
+
+    @Test
+    @DisplayName("Deve responder com o valor do SOAP e seguir quando diverge da conversão local no modo verify")
+    void verifyModeReturnsSoapAnswerOnMismatch() {
+        stubPikachu();
+        integrationProperties.getSoap().setNumberConversionMode(NumberConversionMode.VERIFY);
+        when(numberConversionSoapClient.convert(new NumberToWordsRequest(25L)))
+                .thenReturn(new NumberToWordsResult(25L, "twenty-five"));
+
+        var summary = pokemonIntegrationService.getPokemonSummary("pikachu");
+
+        assertEquals("twenty-five", summary.pokedexNumberInWords());
+    }
+
+    @Test
+    @DisplayName("Deve usar a tabela local dentro da faixa no modo fallback")
+    void fallbackModeUsesTableInsideRange() {
+        stubPikachu();
+        integrationProperties.getSoap().setNumberConversionMode(NumberConversionMode.FALLBACK);
+
+        pokemonIntegrationService.getPokemonSummary("pikachu");
+
+        verify(numberConversionSoapClient, never()).convert(any());
+    }
+
+    @Test
+    @DisplayName("Deve chamar o SOAP acima da faixa da tabela no modo fallback")
+    void fallbackModeCallsSoapOutsideRange() {
+        when(pokeApiClient.fetchPokemon("futuremon"))
+                .thenReturn(new ExternalPokemonDetails("futuremon", 2001L, 100, List.of("normal")));
+        integrationProperties.getSoap().setNumberConversionMode(NumberConversionMode.FALLBACK);
+        when(numberConversionSoapClient.convert(new NumberToWordsRequest(2001L)))
+                .thenReturn(new NumberToWordsResult(2001L, "two thousand one"));
+
+        var summary = pokemonIntegrationService.getPokemonSummary("futuremon");
+
+        assertEquals("two thousand one", summary.pokedexNumberInWords());
+        verify(numberConversionSoapClient).convert(new NumberToWordsRequest(2001L));
+    }
+
+    @Test
+    @DisplayName("Deve devolver resultados parciais quando o lote estoura o prazo")
+    void batchReturnsPartialResultsAfterDeadline() {
+        stubPikachu();
+        integrationProperties.getBatch().setDeadline(Duration.ofMillis(200));
+        when(pokeApiClient.fetchPokemon("snorlax")).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return new ExternalPokemonDetails("snorlax", 143L, 189, List.of("normal"));
+        });
+
+        long start = System.nanoTime();
+        var response = pokemonIntegrationService.getPokemonSummaries(List.of("Pikachu", "snorlax", "pikachu"));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+        assertFalse(response.complete());
+        assertEquals(2, response.results().size());
+        assertEquals("twenty five", response.results().get(0).summary().pokedexNumberInWords());
+        assertEquals(504, response.results().get(1).status());
+    }
+}
@@ -6,16 +6,21 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import pokemon.runs.time.leaderboard.domain.run.Run;
 import pokemon.runs.time.leaderboard.domain.user.User;
 import pokemon.runs.time.leaderboard.dto.runs.CreateRunDTO;
+import pokemon.runs.time.leaderboard.dto.runs.DetailsRunDTO;
 import pokemon.runs.time.leaderboard.dto.runs.PatchRunDTO;
 import pokemon.runs.time.leaderboard.dto.runs.RunsCountByGameDTO;
+import pokemon.runs.time.leaderboard.dto.runs.TopPokemonDTO;
+import pokemon.runs.time.leaderboard.repository.run.GameStatsRepository;
+import pokemon.runs.time.leaderboard.repository.run.LeaderboardEntryRepository;
 import pokemon.runs.time.leaderboard.repository.run.RunRepository;
 
 import java.time.Duration;
@@ -24,6 +29,7 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -43,16 +49,22 @@ class RunServiceCacheTest {
     @Autowired
     private CacheManager cacheManager;
 
-    @MockBean
+    @MockitoBean
     private RunRepository runRepository;
 
+    @MockitoBean
+    private LeaderboardEntryRepository leaderboardEntryRepository;
+
+    @MockitoBean
+    private GameStatsRepository gameStatsRepository;
+
     private User testUser;
     private Run testRun;
 
     @BeforeEach
     void setUp() {
         cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
-        Mockito.reset(runRepository);
+        Mockito.reset(runRepository, leaderboardEntryRepository, gameStatsRepository);
 
         testUser = new User();
         testUser.setId(1L);
@@ -74,63 +86,137 @@ class RunServiceCacheTest {
     @DisplayName("Deve reutilizar cache em GET /runs")
     void getAllRunsCachedUsesCache() {
         var pageable = PageRequest.of(0, 10);
-        when(runRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(testRun)));
+        when(leaderboardEntryRepository.findAllDetails(pageable)).thenReturn(new PageImpl<>(List.of(new DetailsRunDTO(testRun))));
 
         var firstResult = runService.getAllRunsCached(pageable);
         var secondResult = runService.getAllRunsCached(pageable);
 
         assertEquals(1, firstResult.getTotalElements());
         assertEquals(1, secondResult.getTotalElements());
-        verify(runRepository, times(1)).findAll(pageable);
+        verify(leaderboardEntryRepository, times(1)).findAllDetails(pageable);
     }
 
     @Test
     @DisplayName("Deve invalidar caches de leitura ao criar run")
     void createRunEvictsReadCaches() {
-        when(runRepository.countRunsByGame()).thenReturn(List.of(new RunsCountByGameDTO("Pokemon Red", 1L)));
+        when(gameStatsRepository.countRunsByGame()).thenReturn(List.of(new RunsCountByGameDTO("Pokemon Red", 1L)));
         when(runRepository.save(any(Run.class))).thenReturn(testRun);
 
         assertEquals(1, runService.getRunsCountByGameCached().size());
         assertEquals(1, runService.getRunsCountByGameCached().size());
-        verify(runRepository, times(1)).countRunsByGame();
+        verify(gameStatsRepository, times(1)).countRunsByGame();
 
         runService.createRun(new CreateRunDTO("Pokemon Blue", "2:30", 120, List.of("Blastoise"), "Nova run"), testUser);
 
         assertEquals(1, runService.getRunsCountByGameCached().size());
-        verify(runRepository, times(2)).countRunsByGame();
+        verify(gameStatsRepository, times(2)).countRunsByGame();
     }
 
     @Test
     @DisplayName("Deve invalidar caches de leitura ao atualizar run")
     void updateRunEvictsReadCaches() {
-        when(runRepository.findAll()).thenReturn(List.of(testRun));
+        when(runRepository.findTopPokemons(any(Limit.class))).thenReturn(List.of(new TopPokemonDTO("Pikachu", 1L)));
         when(runRepository.findById(anyLong())).thenReturn(java.util.Optional.of(testRun));
         when(runRepository.save(any(Run.class))).thenReturn(testRun);
 
         assertFalse(runService.getTopPokemonsUsedCached().isEmpty());
         assertFalse(runService.getTopPokemonsUsedCached().isEmpty());
-        verify(runRepository, times(1)).findAll();
+        verify(runRepository, times(1)).findTopPokemons(any(Limit.class));
 
         runService.updateRun(10L, new PatchRunDTO("Pokemon Red", "2:15", 151, List.of("Pikachu"), "Atualizada"), testUser);
 
         assertFalse(runService.getTopPokemonsUsedCached().isEmpty());
-        verify(runRepository, times(2)).findAll();
+        verify(runRepository, times(2)).findTopPokemons(any(Limit.class));
     }
 
     @Test
     @DisplayName("Deve invalidar caches de leitura ao deletar run")
     void deleteRunEvictsReadCaches() {
         var pageable = PageRequest.of(0, 10);
-        when(runRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(testRun)));
+        when(leaderboardEntryRepository.findAllDetails(pageable)).thenReturn(new PageImpl<>(List.of(new DetailsRunDTO(testRun))));
         when(runRepository.findById(10L)).thenReturn(java.util.Optional.of(testRun));
 
         assertEquals(1, runService.getAllRunsCached(pageable).getTotalElements());
         assertEquals(1, runService.getAllRunsCached(pageable).getTotalElements());
-        verify(runRepository, times(1)).findAll(pageable);
+        verify(leaderboardEntryRepository, times(1)).findAllDetails(pageable);
 
         runService.deleteRun(10L, testUser);
 
         assertEquals(1, runService.getAllRunsCached(pageable).getTotalElements());
-        verify(runRepository, times(2)).findAll(pageable);
+        verify(leaderboardEntryRepository, times(2)).findAllDetails(pageable);
+    }
+
+    @Test
+    @DisplayName("Deve invalidar apenas as páginas do jogo alterado")
+    void updateRunEvictsOnlyAffectedGamePages() {
+        var pageable = PageRequest.of(0, 10);
+        when(leaderboardEntryRepository.findByGameIgnoreCase("Pokemon Red", pageable)).thenReturn(new PageImpl<>(List.of(new DetailsRunDTO(testRun))));
+        when(leaderboardEntryRepository.findByGameIgnoreCase("Pokemon Blue", pageable)).thenReturn(new PageImpl<>(List.of()));
+        when(runRepository.findById(10L)).thenReturn(java.util.Optional.of(testRun));
+        when(runRepository.save(any(Run.class))).thenReturn(testRun);
+
+        runService.findByGameCached("Pokemon Red", pageable);
+        runService.findByGameCached("Pokemon Blue", pageable);
+
+        runService.updateRun(10L, new PatchRunDTO(null, null, null, null, "Nova observacao"), testUser);
+
+        runService.findByGameCached("Pokemon Red", pageable);
+        runService.findByGameCached("Pokemon Blue", pageable);
+        verify(leaderboardEntryRepository, times(2)).findByGameIgnoreCase("Pokemon Red", pageable);
+        verify(leaderboardEntryRepository, times(1)).findByGameIgnoreCase("Pokemon Blue", pageable);
+    }
+
+    @Test
+    @DisplayName("Não deve invalidar estatísticas quando jogo, tempo e time não mudam")
+    void updateRunKeepsUnaffectedStats() {
+        when(gameStatsRepository.countRunsByGame()).thenReturn(List.of(new RunsCountByGameDTO("Pokemon Red", 1L)));
+        when(runRepository.findTopPokemons(any(Limit.class))).thenReturn(List.of(new TopPokemonDTO("Pikachu", 1L)));
+        when(runRepository.findById(10L)).thenReturn(java.util.Optional.of(testRun));
+        when(runRepository.save(any(Run.class))).thenReturn(testRun);
+
+        runService.getRunsCountByGameCached();
+        runService.getTopPokemonsUsedCached();
+
+        runService.updateRun(10L, new PatchRunDTO(null, null, null, null, "Nova observacao"), testUser);
+
+        runService.getRunsCountByGameCached();
+        runService.getTopPokemonsUsedCached();
+        verify(gameStatsRepository, times(1)).countRunsByGame();
+        verify(runRepository, times(1)).findTopPokemons(any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("Deve atualizar estatísticas e caches uma vez por lote")
+    void createRunsUpdatesStatsOncePerGame() {
+        var pageable = PageRequest.of(0, 10);
+        when(leaderboardEntryRepository.findAllDetails(pageable)).thenReturn(new PageImpl<>(List.of(new DetailsRunDTO(testRun))));
+        when(gameStatsRepository.countRunsByGame()).thenReturn(List.of(new RunsCountByGameDTO("Pokemon Red", 1L)));
+        when(runRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Run> runs = invocation.getArgument(0);
+            long id = 100;
+            for (Run run : runs) {
+                run.setId(id++);
+            }
+            return runs;
+        });
+
+        runService.getAllRunsCached(pageable);
+        runService.getRunsCountByGameCached();
+
+        var created = runService.createRuns(List.of(
+                new CreateRunDTO("Pokemon Blue", "2:30", 120, List.of("Blastoise"), null),
+                new CreateRunDTO("Pokemon Blue", "2:00", 110, List.of("Venusaur"), null),
+                new CreateRunDTO("Pokemon Gold", "4:00", 251, List.of("Typhlosion"), null)
+        ), testUser);
+
+        assertEquals(3, created.size());
+        verify(runRepository, times(1)).saveAll(anyList());
+        verify(gameStatsRepository, times(1)).upsertRuns("Pokemon Blue", 2L, 270L, 120L, 150L);
+        verify(gameStatsRepository, times(1)).upsertRuns("Pokemon Gold", 1L, 240L, 240L, 240L);
+
+        runService.getAllRunsCached(pageable);
+        runService.getRunsCountByGameCached();
+        verify(leaderboardEntryRepository, times(2)).findAllDetails(pageable);
+        verify(gameStatsRepository, times(2)).countRunsByGame();
     }
 }
@@ -9,6 +9,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -16,8 +18,14 @@ import org.springframework.data.domain.Pageable;
 import pokemon.runs.time.leaderboard.domain.run.Run;
 import pokemon.runs.time.leaderboard.domain.user.User;
 import pokemon.runs.time.leaderboard.dto.runs.CreateRunDTO;
+import pokemon.runs.time.leaderboard.dto.runs.DetailsRunDTO;
 import pokemon.runs.time.leaderboard.dto.runs.PatchRunDTO;
+import pokemon.runs.time.leaderboard.dto.runs.RunExportRow;
+import pokemon.runs.time.leaderboard.dto.runs.RunRankDTO;
+import pokemon.runs.time.leaderboard.dto.runs.TopPokemonDTO;
 import pokemon.runs.time.leaderboard.infra.errors.UnauthorizedException;
+import pokemon.runs.time.leaderboard.repository.run.GameStatsRepository;
+import pokemon.runs.time.leaderboard.repository.run.LeaderboardEntryRepository;
 import pokemon.runs.time.leaderboard.repository.run.RunRepository;
 
 import java.time.Duration;
@@ -25,8 +33,12 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -39,6 +51,18 @@ class RunServiceTest {
     @Mock
     private RunRepository runRepository;
 
+    @Mock
+    private LeaderboardEntryRepository leaderboardEntryRepository;
+
+    @Mock
+    private GameStatsRepository gameStatsRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RunRanking runRanking;
+
     @InjectMocks
     private RunService runService;
 
@@ -144,17 +168,17 @@ class RunServiceTest {
     void testGetAllRuns_Success() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Run> page = new PageImpl<>(Arrays.asList(testRun));
-        when(runRepository.findAll(pageable)).thenReturn(page);
+        Page<DetailsRunDTO> page = new PageImpl<>(List.of(new DetailsRunDTO(testRun)));
+        when(leaderboardEntryRepository.findAllDetails(pageable)).thenReturn(page);
 
         // Act
-        Page<Run> result = runService.getAllRuns(pageable);
+        Page<DetailsRunDTO> result = runService.getAllRuns(pageable);
 
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        assertEquals(testRun.getId(), result.getContent().get(0).getId());
-        verify(runRepository, times(1)).findAll(pageable);
+        assertEquals(testRun.getId(), result.getContent().get(0).id());
+        verify(leaderboardEntryRepository, times(1)).findAllDetails(pageable);
     }
 
     @Test
@@ -330,16 +354,16 @@ class RunServiceTest {
     void testFindByGame_Success() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Run> page = new PageImpl<>(Arrays.asList(testRun));
-        when(runRepository.findByGameIgnoreCase("Pokemon Red", pageable)).thenReturn(page);
+        Page<DetailsRunDTO> page = new PageImpl<>(List.of(new DetailsRunDTO(testRun)));
+        when(leaderboardEntryRepository.findByGameIgnoreCase("Pokemon Red", pageable)).thenReturn(page);
 
         // Act
-        Page<Run> result = runService.findByGame("Pokemon Red", pageable);
+        Page<DetailsRunDTO> result = runService.findByGame("Pokemon Red", pageable);
 
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(runRepository, times(1)).findByGameIgnoreCase("Pokemon Red", pageable);
+        verify(leaderboardEntryRepository, times(1)).findByGameIgnoreCase("Pokemon Red", pageable);
     }
 
     @Test
@@ -347,17 +371,17 @@ class RunServiceTest {
     void testFindFastestRuns_Success() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Run> page = new PageImpl<>(Arrays.asList(testRun));
+        Page<DetailsRunDTO> page = new PageImpl<>(List.of(new DetailsRunDTO(testRun)));
         Duration maxDuration = Duration.ofHours(5);
-        when(runRepository.findFastestRuns(maxDuration, pageable)).thenReturn(page);
+        when(leaderboardEntryRepository.findFastestRuns(maxDuration.toMinutes(), pageable)).thenReturn(page);
 
         // Act
-        Page<Run> result = runService.findFastestRuns("5:00", pageable);
+        Page<DetailsRunDTO> result = runService.findFastestRuns("5:00", pageable);
 
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(runRepository, times(1)).findFastestRuns(any(Duration.class), eq(pageable));
+        verify(leaderboardEntryRepository, times(1)).findFastestRuns(300L, pageable);
     }
 
     @Test
@@ -365,16 +389,16 @@ class RunServiceTest {
     void testFindByMinPokedexStatus_Success() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Run> page = new PageImpl<>(Arrays.asList(testRun));
-        when(runRepository.findByMinPokedexStatus(100, pageable)).thenReturn(page);
+        Page<DetailsRunDTO> page = new PageImpl<>(List.of(new DetailsRunDTO(testRun)));
+        when(leaderboardEntryRepository.findByMinPokedexStatus(100, pageable)).thenReturn(page);
 
         // Act
-        Page<Run> result = runService.findByMinPokedexStatus(100, pageable);
+        Page<DetailsRunDTO> result = runService.findByMinPokedexStatus(100, pageable);
 
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(runRepository, times(1)).findByMinPokedexStatus(100, pageable);
+        verify(leaderboardEntryRepository, times(1)).findByMinPokedexStatus(100, pageable);
     }
 
     @Test
@@ -382,16 +406,16 @@ class RunServiceTest {
     void testFindByPokemonInTeam_Success() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Run> page = new PageImpl<>(Arrays.asList(testRun));
-        when(runRepository.findByPokemonInTeam("Pikachu", pageable)).thenReturn(page);
+        Page<DetailsRunDTO> page = new PageImpl<>(List.of(new DetailsRunDTO(testRun)));
+        when(leaderboardEntryRepository.findByPokemonInTeam("Pikachu", pageable)).thenReturn(page);
 
         // Act
-        Page<Run> result = runService.findByPokemonInTeam("Pikachu", pageable);
+        Page<DetailsRunDTO> result = runService.findByPokemonInTeam("Pikachu", pageable);
 
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(runRepository, times(1)).findByPokemonInTeam("Pikachu", pageable);
+        verify(leaderboardEntryRepository, times(1)).findByPokemonInTeam("Pikachu", pageable);
     }
 
     @Test
@@ -399,45 +423,73 @@ class RunServiceTest {
     void testGetAllMyRuns_Success() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Run> page = new PageImpl<>(Arrays.asList(testRun));
-        when(runRepository.findByUserId(1L, pageable)).thenReturn(page);
+        Page<DetailsRunDTO> page = new PageImpl<>(List.of(new DetailsRunDTO(testRun)));
+        when(leaderboardEntryRepository.findByUserId(1L, pageable)).thenReturn(page);
 
         // Act
-        Page<Run> result = runService.getAllMyRuns(testUser, pageable);
+        Page<DetailsRunDTO> result = runService.getAllMyRuns(testUser, pageable);
 
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(runRepository, times(1)).findByUserId(1L, pageable);
+        verify(leaderboardEntryRepository, times(1)).findByUserId(1L, pageable);
+    }
+
+    @Test
+    @DisplayName("Deve buscar a posição da melhor run do usuário no ranking do jogo")
+    void testGetMyRunRank_UsesBestRun() {
+        // Arrange
+        DetailsRunDTO best = new DetailsRunDTO(testRun);
+        RunRankDTO rank = new RunRankDTO(3, 10, best, List.of(), List.of());
+        when(leaderboardEntryRepository.findBestByUserAndGame(1L, "pokemon red", Limit.of(1))).thenReturn(List.of(best));
+        when(runRanking.findRank("Pokemon Red", 150, 1L, 2)).thenReturn(Optional.of(rank));
+
+        // Act
+        RunRankDTO result = runService.getMyRunRank(testUser, "pokemon red", 2);
+
+        // Assert
+        assertEquals(3, result.rank());
+    }
+
+    @Test
+    @DisplayName("Deve lançar EntityNotFoundException quando o usuário não tem run no jogo")
+    void testGetMyRunRank_NoRunInGame() {
+        // Arrange
+        when(leaderboardEntryRepository.findBestByUserAndGame(1L, "Pokemon Gold", Limit.of(1))).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> runService.getMyRunRank(testUser, "Pokemon Gold", 2));
+        verifyNoInteractions(runRanking);
     }
 
     @Test
     @DisplayName("Deve exportar runs para CSV com sucesso")
-    void testExportRunsToCsv_Success() {
+    void testExportRunsToCsv_Success() throws IOException {
         // Arrange
-        List<Run> runs = Arrays.asList(testRun);
-        when(runRepository.findAll()).thenReturn(runs);
+        when(runRepository.streamAllForExport()).thenReturn(Stream.of(exportRow(testRun)));
 
         // Act
-        String csv = runService.exportRunsToCsv();
+        String csv = exportCsv();
 
         // Assert
         assertNotNull(csv);
         assertTrue(csv.contains("id,game,runTime,pokedexStatus,pokemonTeam,observation"));
         assertTrue(csv.contains("Pokemon Red"));
-        verify(runRepository, times(1)).findAll();
+        assertTrue(csv.contains("Pikachu|Charizard|Blastoise"));
+        verify(runRepository, times(1)).streamAllForExport();
+        verify(runRepository, never()).findAll();
     }
 
     @Test
     @DisplayName("Deve escapar campos CSV com vírgulas e aspas")
-    void testExportRunsToCsv_EscapesSpecialCharacters() {
+    void testExportRunsToCsv_EscapesSpecialCharacters() throws IOException {
         // Arrange
         testRun.setGame("Pokemon Red, Blue");
         testRun.setObservation("Run \"especial\", com vírgula");
-        when(runRepository.findAll()).thenReturn(List.of(testRun));
+        when(runRepository.streamAllForExport()).thenReturn(Stream.of(exportRow(testRun)));
 
         // Act
-        String csv = runService.exportRunsToCsv();
+        String csv = exportCsv();
 
         // Assert
         assertTrue(csv.contains("\"Pokemon Red, Blue\""));
@@ -446,31 +498,25 @@ class RunServiceTest {
     }
 
     @Test
-    @DisplayName("Deve calcular top pokemons sem depender de SQL específico do banco")
+    @DisplayName("Deve delegar top pokemons ao banco limitado a 10 linhas")
     void testGetTopPokemonsUsed_Success() {
-        Run secondRun = new Run();
-        secondRun.setPokemonTeam(Arrays.asList(" Pikachu ", "Bulbasaur", ""));
-
-        when(runRepository.findAll()).thenReturn(List.of(testRun, secondRun));
+        var topPokemons = List.of(new TopPokemonDTO("Pikachu", 2L), new TopPokemonDTO("Bulbasaur", 1L));
+        when(runRepository.findTopPokemons(Limit.of(10))).thenReturn(topPokemons);
 
         var result = runService.getTopPokemonsUsed();
 
-        assertFalse(result.isEmpty());
-        assertEquals("Pikachu", result.getFirst().pokemon());
-        assertEquals(2L, result.getFirst().count());
-        assertEquals(
-                java.util.Map.of("Pikachu", 2L, "Bulbasaur", 1L, "Charizard", 1L, "Blastoise", 1L),
-                result.stream().collect(Collectors.toMap(pokemon -> pokemon.pokemon(), pokemon -> pokemon.count()))
-        );
-        verify(runRepository, times(1)).findAll();
+        assertEquals(topPokemons, result);
+        verify(runRepository, never()).findAll();
     }
 
     @Test
     @DisplayName("Deve gerar arquivo Excel com colunas esperadas")
     void testExportRunsToExcel_Success() throws Exception {
-        when(runRepository.findAll()).thenReturn(List.of(testRun));
+        when(runRepository.streamAllForExport()).thenReturn(Stream.of(exportRow(testRun)));
 
-        byte[] excel = runService.exportRunsToExcel();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        runService.exportRunsToExcel(outputStream);
+        byte[] excel = outputStream.toByteArray();
 
         assertNotNull(excel);
         assertTrue(excel.length > 0);
@@ -492,4 +538,35 @@ class RunServiceTest {
             assertEquals("2026-06-17 10:30:00", sheet.getRow(1).getCell(5).getStringCellValue());
         }
     }
+
+    @Test
+    @DisplayName("Deve exportar Excel com mais linhas que a janela do SXSSF e largura amostrada")
+    void testExportRunsToExcel_StreamsBeyondRowWindow() throws Exception {
+        int totalRuns = 250;
+        when(runRepository.streamAllForExport()).thenReturn(LongStream.rangeClosed(1, totalRuns)
+                .mapToObj(id -> new RunExportRow(id, "Pokemon Red", Duration.ofMinutes(id), 151,
+                        List.of("Pikachu"), null, "testuser", null)));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        runService.exportRunsToExcel(outputStream);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            var sheet = workbook.getSheet("Leaderboard");
+            assertEquals(totalRuns, sheet.getLastRowNum());
+            assertEquals("04:10", sheet.getRow(totalRuns).getCell(2).getStringCellValue());
+            assertEquals(("Data de criacao".length() + 2) * 256, sheet.getColumnWidth(5));
+            assertEquals(("Pokemon Red".length() + 2) * 256, sheet.getColumnWidth(1));
+        }
+    }
+
+    private String exportCsv() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        runService.exportRunsToCsv(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    private RunExportRow exportRow(Run run) {
+        return new RunExportRow(run.getId(), run.getGame(), run.getRunTime(), run.getPokedexStatus(),
+                run.getPokemonTeam(), run.getObservation(), run.getUser().getUsername(), run.getCreatedAt());
+    }
 }
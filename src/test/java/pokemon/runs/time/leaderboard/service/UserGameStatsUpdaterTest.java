@@ -0,0 +1,141 @@
+package pokemon.runs.time.leaderboard.service;
+
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import pokemon.runs.time.leaderboard.domain.run.Run;
+import pokemon.runs.time.leaderboard.domain.user.User;
+import pokemon.runs.time.leaderboard.dto.runs.CreateRunDTO;
+import pokemon.runs.time.leaderboard.dto.runs.PatchRunDTO;
+import pokemon.runs.time.leaderboard.dto.runs.UserGameStatsDTO;
+import pokemon.runs.time.leaderboard.dto.runs.UserStatsDTO;
+import pokemon.runs.time.leaderboard.repository.user.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.docker.compose.enabled=false",
+        "spring.cache.type=simple"
+})
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("UserGameStatsUpdater - Rollup por usuario e jogo")
+class UserGameStatsUpdaterTest {
+
+    @Autowired
+    private RunService runService;
+
+    @Autowired
+    private UserGameStatsUpdater userGameStatsUpdater;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+    private User otherUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = saveUser("personalbest", "personalbest@test.com");
+        otherUser = saveUser("rival", "rival@test.com");
+    }
+
+    @Test
+    @DisplayName("Deve acumular contagem, media e recorde por jogo ao criar runs")
+    void createRunsAccumulateStats() {
+        createRun(testUser, "Pokemon Red", "2:30");
+        Run best = createRun(testUser, "Pokemon Red", "1:30");
+        createRun(testUser, "Pokemon Blue", "3:00");
+        createRun(otherUser, "Pokemon Red", "0:45");
+
+        UserStatsDTO stats = runService.getMyStats(testUser);
+
+        assertEquals(3, stats.runCount());
+        assertEquals(List.of(
+                new UserGameStatsDTO("Pokemon Blue", 1, "03:00", stats.games().get(0).bestRunId(), 180.0),
+                new UserGameStatsDTO("Pokemon Red", 2, "01:30", best.getId(), 120.0)), stats.games());
+    }
+
+    @Test
+    @DisplayName("Deve somar o lote e manter o recorde com desempate por id")
+    void createBatchKeepsBestRun() {
+        List<Run> runs = runService.createRuns(List.of(
+                new CreateRunDTO("Pokemon Red", "2:00", 151, List.of("Pikachu"), null),
+                new CreateRunDTO("Pokemon Red", "1:00", 151, List.of("Pikachu"), null),
+                new CreateRunDTO("Pokemon Red", "1:00", 151, List.of("Pikachu"), null)), testUser);
+
+        UserGameStatsDTO red = runService.getMyStats(testUser).games().getFirst();
+
+        assertEquals(3, red.runCount());
+        assertEquals("01:00", red.bestRunTime());
+        assertEquals(runs.get(1).getId(), red.bestRunId());
+    }
+
+    @Test
+    @DisplayName("Deve manter o recorde existente quando uma nova run empata ou fica pior")
+    void mergeKeepsExistingBestOnTieOrWorse() {
+        Run best = createRun(testUser, "Pokemon Red", "1:00");
+        createRun(testUser, "Pokemon Red", "1:00");
+        createRun(testUser, "Pokemon Red", "4:00");
+
+        UserGameStatsDTO red = runService.getMyStats(testUser).games().getFirst();
+
+        assertEquals(3, red.runCount());
+        assertEquals("01:00", red.bestRunTime());
+        assertEquals(best.getId(), red.bestRunId());
+    }
+
+    @Test
+    @DisplayName("Deve recalcular o recorde ao piorar, mover ou deletar a melhor run")
+    void updateAndDeleteRecomputeBest() {
+        Run best = createRun(testUser, "Pokemon Red", "1:00");
+        Run second = createRun(testUser, "Pokemon Red", "2:00");
+
+        runService.updateRun(best.getId(), new PatchRunDTO(null, "3:00", null, null, null), testUser);
+        UserGameStatsDTO red = runService.getMyStats(testUser).games().getFirst();
+        assertEquals(2, red.runCount());
+        assertEquals(second.getId(), red.bestRunId());
+        assertEquals(150.0, red.avgRunTime());
+
+        runService.updateRun(best.getId(), new PatchRunDTO("Pokemon Gold", null, null, null, null), testUser);
+        runService.deleteRun(second.getId(), testUser);
+
+        UserStatsDTO stats = runService.getMyStats(testUser);
+        assertEquals(1, stats.runCount());
+        assertEquals("Pokemon Gold", stats.games().getFirst().game());
+        assertEquals(best.getId(), stats.games().getFirst().bestRunId());
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir a tabela a partir das runs")
+    void rebuildMatchesIncrementalStats() {
+        createRun(testUser, "Pokemon Red", "2:30");
+        createRun(testUser, "Pokemon Red", "1:30");
+        createRun(otherUser, "Pokemon Blue", "3:00");
+        UserStatsDTO before = runService.getMyStats(testUser);
+
+        userGameStatsUpdater.rebuild();
+
+        assertEquals(before, runService.getMyStats(testUser));
+        assertEquals(1, runService.getMyStats(otherUser).runCount());
+    }
+
+    private User saveUser(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole("CUSTOMER");
+        return userRepository.save(user);
+    }
+
+    private Run createRun(User user, String game, String runTime) {
+        return runService.createRun(new CreateRunDTO(game, runTime, 151, List.of("Pikachu"), null), user);
+    }
+}
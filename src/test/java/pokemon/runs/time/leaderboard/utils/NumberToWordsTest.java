@@ -0,0 +1,36 @@
+package pokemon.runs.time.leaderboard.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("NumberToWords - Testes Unitários")
+class NumberToWordsTest {
+
+    @Test
+    @DisplayName("Deve seguir o formato do serviço NumberConversion")
+    void matchesSoapFormat() {
+        assertEquals("one", NumberToWords.convert(1));
+        assertEquals("one hundred", NumberToWords.convert(100));
+        assertEquals("one hundred and fifty one", NumberToWords.convert(151));
+        assertEquals("one thousand twenty five", NumberToWords.convert(1025));
+        assertEquals("twelve thousand three hundred and forty five", NumberToWords.convert(12345));
+        assertEquals("one million one", NumberToWords.convert(1_000_001));
+    }
+
+    @Test
+    @DisplayName("Deve converter os limites da tabela e o primeiro valor fora dela")
+    void convertsTableBoundaries() {
+        assertEquals("zero", NumberToWords.convert(0));
+        assertEquals("two thousand", NumberToWords.convert(NumberToWords.TABLE_SIZE));
+        assertEquals("two thousand one", NumberToWords.convert(NumberToWords.TABLE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar números negativos")
+    void rejectsNegativeNumbers() {
+        assertThrows(IllegalArgumentException.class, () -> NumberToWords.convert(-1));
+    }
+}
@@ -0,0 +1,69 @@
+package pokemon.runs.time.leaderboard.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("RunTimeHistogram - Testes Unitários")
+class RunTimeHistogramTest {
+
+    @Test
+    @DisplayName("Deve usar baldes exatos abaixo de 64 minutos e 32 por potência de 2 acima")
+    void bucketsFollowLogLinearLayout() {
+        assertEquals(0, RunTimeHistogram.bucketStart(0));
+        assertEquals(63, RunTimeHistogram.bucketStart(63));
+        assertEquals(64, RunTimeHistogram.bucketStart(65));
+        assertEquals(2, RunTimeHistogram.bucketWidth(64));
+        assertEquals(4032, RunTimeHistogram.bucketStart(4095));
+        assertEquals(64, RunTimeHistogram.bucketWidth(4032));
+        assertEquals(5888, RunTimeHistogram.bucketStart(RunTimeParser.MAX_MINUTES));
+        assertEquals(128, RunTimeHistogram.bucketWidth(5888));
+    }
+
+    @Test
+    @DisplayName("Deve devolver qualquer tempo válido com erro relativo de no máximo 1/64")
+    void boundsRelativeErrorForEveryValidTime() {
+        for (long minutes = 0; minutes <= RunTimeParser.MAX_MINUTES; minutes++) {
+            RunTimeHistogram histogram = new RunTimeHistogram();
+            histogram.add(RunTimeHistogram.bucketStart(minutes), 1);
+
+            long value = histogram.valueAt(0.5);
+            assertTrue(Math.abs(value - minutes) * 64 <= minutes, "minutos=" + minutes + ", valor=" + value);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve calcular percentis por nearest-rank sobre os baldes")
+    void computesNearestRankPercentiles() {
+        Map<Long, Long> buckets = new TreeMap<>();
+        for (long minutes = 1; minutes <= 100; minutes++) {
+            buckets.merge(RunTimeHistogram.bucketStart(minutes), 1L, Long::sum);
+        }
+        buckets.merge(RunTimeHistogram.bucketStart(5000), 1L, Long::sum);
+        RunTimeHistogram histogram = new RunTimeHistogram();
+        buckets.forEach(histogram::add);
+
+        assertEquals(101, histogram.totalCount());
+        assertEquals(51, histogram.valueAt(0.5));
+        assertEquals(90, histogram.valueAt(0.9));
+        assertEquals(100, histogram.valueAt(0.99));
+        assertTrue(Math.abs(histogram.valueAt(1.0) - 5000) * 64 <= 5000);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar baldes fora de ordem e histograma vazio")
+    void rejectsInvalidUsage() {
+        RunTimeHistogram histogram = new RunTimeHistogram();
+        assertThrows(IllegalStateException.class, () -> histogram.valueAt(0.5));
+
+        histogram.add(90, 1);
+        assertThrows(IllegalArgumentException.class, () -> histogram.add(90, 1));
+        assertThrows(IllegalArgumentException.class, () -> RunTimeHistogram.bucketStart(-1));
+    }
+}
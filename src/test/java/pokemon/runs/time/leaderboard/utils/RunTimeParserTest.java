@@ -0,0 +1,58 @@
+package pokemon.runs.time.leaderboard.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("RunTimeParser - Testes Unitários")
+class RunTimeParserTest {
+
+    @Test
+    @DisplayName("Deve manter o resultado da implementação com regex e String.format em toda a faixa")
+    void matchesPreviousImplementationForEveryValidTime() {
+        for (int hours = 0; hours <= 99; hours++) {
+            for (int minutes = 0; minutes <= 59; minutes++) {
+                String text = String.format("%02d:%02d", hours, minutes);
+                Duration expected = Duration.ofHours(hours).plusMinutes(minutes);
+
+                assertEquals(expected, RunTimeParser.parse(text));
+                assertEquals(text, RunTimeParser.format(expected));
+                if (hours < 10) {
+                    assertEquals(expected, RunTimeParser.parse(hours + text.substring(2)));
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "1", "1:5", "123:00", "1:60", "01:7a", "aa:00", "01-00", "-1:00", "1:000", " 1:00", "１:00"})
+    @DisplayName("Deve rejeitar textos fora do formato HH:MM")
+    void rejectsInvalidFormats(String value) {
+        assertThrows(IllegalArgumentException.class, () -> RunTimeParser.parse(value));
+    }
+
+    @Test
+    @DisplayName("Deve formatar durações fora da tabela como antes")
+    void formatsOutOfRangeDurations() {
+        assertEquals("00:00", RunTimeParser.format(null));
+        assertEquals("100:05", RunTimeParser.format(Duration.ofHours(100).plusMinutes(5)));
+        assertEquals("-1:-30", RunTimeParser.format(Duration.ofMinutes(-90)));
+        assertEquals("01:30", RunTimeParser.format(Duration.ofMinutes(90).plusSeconds(20)));
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar a duração da tabela no conversor JPA")
+    void durationConverterReusesCachedInstances() {
+        DurationConverter converter = new DurationConverter();
+
+        assertSame(converter.convertToEntityAttribute(754L), RunTimeParser.parse("12:34"));
+        assertEquals(Duration.ofMinutes(10_000), converter.convertToEntityAttribute(10_000L));
+    }
+}
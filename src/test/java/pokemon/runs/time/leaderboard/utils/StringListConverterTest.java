@@ -0,0 +1,41 @@
+package pokemon.runs.time.leaderboard.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("StringListConverter - Testes Unitários")
+class StringListConverterTest {
+
+    private final StringListConverter converter = new StringListConverter();
+
+    @Test
+    @DisplayName("Deve juntar o time sem espaços nas pontas e sem itens vazios")
+    void joinsNormalizedValues() {
+        assertEquals("Pikachu,Mr. Mime,Charizard",
+                converter.convertToDatabaseColumn(Arrays.asList(" Pikachu", null, "", "Mr. Mime ", "\tCharizard\n")));
+        assertNull(converter.convertToDatabaseColumn(List.of()));
+        assertNull(converter.convertToDatabaseColumn(List.of(" ", "")));
+        assertNull(converter.convertToDatabaseColumn(null));
+    }
+
+    @Test
+    @DisplayName("Deve separar o texto como a implementação com split e stream")
+    void splitsLikePreviousImplementation() {
+        for (String joined : List.of("Pikachu,Charizard", " Pikachu , ,Charizard,", ",,", "Mr. Mime", " ", ",Eevee,,Jolteon ,")) {
+            List<String> expected = new ArrayList<>(Arrays.stream(joined.split(","))
+                    .map(String::trim)
+                    .filter(value -> !value.isEmpty())
+                    .toList());
+
+            assertEquals(expected, converter.convertToEntityAttribute(joined));
+        }
+        assertEquals(List.of(), converter.convertToEntityAttribute(null));
+    }
+}